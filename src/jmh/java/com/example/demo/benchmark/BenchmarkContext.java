@@ -0,0 +1,98 @@
+package com.example.demo.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.SpringJpaDemoApplication;
+import com.example.demo.dto.BulkImportResult;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.service.StudentBulkImportService;
+import com.example.demo.service.StudentFileFormat;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it
+ * for benchmarks. Sizes come from JMH @Param values, so they can be changed
+ * from the command line, e.g. -Djmh.options="-p students=100000".
+ */
+final class BenchmarkContext {
+
+    static final int DEPARTMENTS = 10;
+    static final int COURSES = 50;
+    static final int COURSES_PER_STUDENT = 3;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return new SpringApplicationBuilder(SpringJpaDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.demo=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+    }
+
+    /**
+     * Seed departments, courses and the given number of students (each enrolled in a few courses)
+     */
+    static void seed(ConfigurableApplicationContext context, int students) {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(new Department("Department " + i));
+        }
+        context.getBean(DepartmentRepository.class).saveAll(departments);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(new Course("Course " + i));
+        }
+        context.getBean(CourseRepository.class).saveAll(courses);
+
+        StringBuilder csv = new StringBuilder("name,email,address,phone,department,courses\n");
+        for (int i = 0; i < students; i++) {
+            csv.append("Student ").append(i)
+                    .append(",seed").append(i).append("@example.com")
+                    .append(",Street ").append(i)
+                    .append(",555-").append(i % 10_000)
+                    .append(",Department ").append(i % DEPARTMENTS)
+                    .append(',');
+            for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                if (c > 0) {
+                    csv.append(';');
+                }
+                csv.append("Course ").append((i + c * 7) % COURSES);
+            }
+            csv.append('\n');
+        }
+
+        try {
+            BulkImportResult result = context.getBean(StudentBulkImportService.class).importStudents(
+                    new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                    StudentFileFormat.CSV);
+            if (result.getImported() != students) {
+                throw new IllegalStateException("Seeding failed: " + result.getErrors());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
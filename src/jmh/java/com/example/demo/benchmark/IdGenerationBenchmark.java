@@ -0,0 +1,127 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.entity.IdGeneration;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Student insert throughput with IDENTITY keys (before) versus pooled
+ * sequence keys with JDBC batching (after), on an in-memory H2 database.
+ * Scores are rows per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 1000;
+
+    @Param({"IDENTITY", "POOLED"})
+    public String strategy;
+
+    private SessionFactory sessionFactory;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:id_benchmark;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .addAnnotatedClass(IdentityStudent.class)
+                .addAnnotatedClass(PooledStudent.class)
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertStudents() {
+        boolean pooled = "POOLED".equals(strategy);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                long n = sequence++;
+                String name = "Student " + n;
+                String email = "student" + n + "@example.com";
+                session.persist(pooled ? new PooledStudent(name, email) : new IdentityStudent(name, email));
+            }
+        });
+    }
+
+    @Entity
+    @Table(name = "identity_students")
+    public static class IdentityStudent {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String name;
+        private String email;
+
+        public IdentityStudent() {
+        }
+
+        IdentityStudent(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+
+    @Entity
+    @Table(name = "pooled_students")
+    public static class PooledStudent {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_student_id_seq")
+        @SequenceGenerator(name = "pooled_student_id_seq", sequenceName = "pooled_students_seq",
+                allocationSize = IdGeneration.ALLOCATION_SIZE)
+        private Long id;
+
+        private String name;
+        private String email;
+
+        public PooledStudent() {
+        }
+
+        PooledStudent(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.entity.User;
+import com.example.demo.security.CustomUserDetails;
+import com.example.demo.security.CustomUserDetailsService;
+import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.security.PrincipalCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * JWT hot paths: token generation, verification and the full
+ * JwtAuthenticationFilter pass for an authenticated request.
+ * verifiedCacheSize=0 disables the verified-token cache, so every request
+ * pays for signature verification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationAndValidationMustBeLongEnoughToBeSecure";
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = newJwtUtil(verifiedCacheSize);
+
+        User user = new User("bench", "bench@example.com", "{noop}secret");
+        user.addRole("USER");
+        userDetails = new CustomUserDetails(user);
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return userDetails;
+            }
+        };
+        PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), 10_000);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, principalCache, new SimpleMeterRegistry());
+
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Object verifyToken() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public void filterAuthenticatedRequest(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    static JwtUtil newJwtUtil(long verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Closed-loop HTTP load test against a running instance. Each simulated user
+ * sends its next request as soon as the previous one completes, mixing student
+ * page reads with logins (BCrypt-bound) at the given ratio.
+ *
+ * To compare thread models, start the application once as usual and once with
+ * --spring.profiles.active=virtual-threads on Java 21, then run the same load
+ * against each with a different label:
+ *
+ *   mvn -Pbenchmark test-compile exec:exec@load-test \
+ *       -Dload.args="--label=platform --users=400 --duration=60s"
+ *
+ * Throughput and latency percentiles are printed and appended as one JSON line
+ * to target/load-test-results.jsonl.
+ */
+public final class StudentApiLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private StudentApiLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8082");
+        String label = options.getOrDefault("label", "run");
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+        double loginRatio = Double.parseDouble(options.getOrDefault("login-ratio", "0.05"));
+        String username = options.getOrDefault("username", "admin");
+        String password = options.getOrDefault("password", "admin123");
+        Path output = Path.of(options.getOrDefault("output", "target/load-test-results.jsonl"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, users / 8)))
+                .build();
+        String loginBody = MAPPER.writeValueAsString(Map.of("username", username, "password", password));
+        String token = login(client, baseUrl, loginBody);
+
+        System.out.printf("Warming up %s with %d users for %s%n", baseUrl, users, warmup);
+        run(client, baseUrl, token, loginBody, users, warmup, loginRatio);
+
+        System.out.printf("Measuring for %s%n", duration);
+        Result result = run(client, baseUrl, token, loginBody, users, duration, loginRatio);
+
+        String summary = MAPPER.writeValueAsString(result.toMap(label, users, loginRatio));
+        System.out.println(summary);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, summary + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String token, String loginBody,
+                              int users, Duration duration, double loginRatio) throws Exception {
+        HttpRequest read = HttpRequest.newBuilder(URI.create(baseUrl + "/api/students?limit=50"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        HttpRequest login = loginRequest(baseUrl, loginBody);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        List<Future<Samples>> futures = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            int seed = u;
+            futures.add(workers.submit(() -> {
+                Samples samples = new Samples();
+                // Deterministic interleaving: every (1 / loginRatio)-th request is a login
+                long counter = seed;
+                while (System.nanoTime() < deadline) {
+                    boolean isLogin = loginRatio > 0 && (counter++ % Math.max(1, Math.round(1 / loginRatio))) == 0;
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(isLogin ? login : read,
+                                HttpResponse.BodyHandlers.discarding());
+                        samples.record(System.nanoTime() - start, response.statusCode() < 400);
+                    } catch (IOException e) {
+                        samples.record(System.nanoTime() - start, false);
+                    }
+                }
+                return samples;
+            }));
+        }
+
+        Samples all = new Samples();
+        for (Future<Samples> future : futures) {
+            all.addAll(future.get());
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        return new Result(all, duration);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String loginBody) throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(baseUrl, loginBody), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode body = MAPPER.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    private static HttpRequest loginRequest(String baseUrl, String loginBody) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    /**
+     * Latencies in nanoseconds, appended to a growable primitive array
+     */
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long latencyNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+    }
+
+    private static final class Result {
+
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final long[] sorted;
+
+        Result(Samples samples, Duration duration) {
+            this.requests = samples.size;
+            this.errors = samples.errors;
+            this.throughput = samples.size / (duration.toNanos() / 1e9);
+            this.sorted = Arrays.copyOf(samples.latencies, samples.size);
+            Arrays.sort(sorted);
+        }
+
+        double percentileMillis(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            long nanos = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+            return Math.round(nanos / 1e4) / 100.0;
+        }
+
+        Map<String, Object> toMap(String label, int users, double loginRatio) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("label", label);
+            map.put("users", users);
+            map.put("loginRatio", loginRatio);
+            map.put("requests", requests);
+            map.put("errors", errors);
+            map.put("throughputPerSecond", Math.round(throughput * 10) / 10.0);
+            map.put("p50Millis", percentileMillis(50));
+            map.put("p95Millis", percentileMillis(95));
+            map.put("p99Millis", percentileMillis(99));
+            map.put("maxMillis", percentileMillis(100));
+            return map;
+        }
+    }
+}
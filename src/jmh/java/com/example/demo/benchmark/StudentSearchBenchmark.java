@@ -0,0 +1,82 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.search.InvertedIndex;
+
+/**
+ * Query latency of the in-memory student search index over synthetic
+ * students (first/last name, email, department, three courses).
+ * query selects an exact word, a two-word AND, a prefix and a one-typo word.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StudentSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra"};
+    private static final String[] SYLLABLES = {
+            "an", "ber", "cal", "dor", "el", "fin", "gar", "hol", "is", "jon", "kel", "lor", "man", "nor", "ot",
+            "per", "quin", "ros", "sten", "tal", "ul", "ven", "wil", "xan", "yor", "zel"};
+    private static final String[] SUBJECTS = {
+            "Algebra", "Biology", "Chemistry", "Databases", "Economics", "Finance", "Geology", "History",
+            "Informatics", "Journalism", "Linguistics", "Mechanics", "Networks", "Optics", "Philosophy",
+            "Psychology", "Robotics", "Statistics", "Thermodynamics", "Zoology"};
+    private static final String[] LEVELS = {"Introduction to", "Advanced", "Applied", "Topics in", "Seminar in"};
+
+    @Param({"1000000"})
+    public int students;
+
+    @Param({"jennifer", "michael statistics", "ther", "databses"})
+    public String query;
+
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new InvertedIndex();
+        for (int i = 1; i <= students; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            // ~17k distinct surnames
+            String last = SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + SYLLABLES[random.nextInt(SYLLABLES.length)];
+            List<String> texts = new ArrayList<>(6);
+            texts.add(first + " " + last);
+            texts.add(first.toLowerCase() + "." + last + i + "@example.com");
+            texts.add("Department of " + SUBJECTS[i % SUBJECTS.length]);
+            for (int c = 0; c < 3; c++) {
+                texts.add(LEVELS[random.nextInt(LEVELS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)]);
+            }
+            index.put(i, texts);
+        }
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> search() {
+        return index.search(query, 20);
+    }
+}
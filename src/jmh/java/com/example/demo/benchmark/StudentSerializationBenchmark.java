@@ -0,0 +1,75 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.StudentField;
+import com.example.demo.entity.Student;
+import com.example.demo.service.StudentFetchPlan;
+import com.example.demo.service.StudentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of fully loaded Student graphs versus the projected
+ * rows returned by the paginated listing, using the application's ObjectMapper
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentSerializationBenchmark {
+
+    @Param({"500"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<Student> studentGraphs;
+    private CursorPage<Map<String, Object>> projectedPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("student_serialization_benchmark");
+        BenchmarkContext.seed(context, students);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        StudentService studentService = context.getBean(StudentService.class);
+        studentGraphs = studentService.getAllStudents(StudentFetchPlan.FULL);
+        projectedPage = studentService.getStudentPage(null, students, StudentField.parse(null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeStudentGraphs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studentGraphs);
+    }
+
+    @Benchmark
+    public byte[] serializeProjectedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectedPage);
+    }
+}
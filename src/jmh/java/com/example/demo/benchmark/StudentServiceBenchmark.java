@@ -0,0 +1,110 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.example.demo.dto.StudentField;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Student;
+import com.example.demo.entity.StudentProfile;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.StudentFetchPlan;
+import com.example.demo.service.StudentService;
+
+/**
+ * StudentService read and write paths against a seeded in-memory H2 database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentServiceBenchmark {
+
+    @Param({"1000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private Long departmentId;
+    private Set<Long> courseIdsA;
+    private Set<Long> courseIdsB;
+    private Long updatedStudentId;
+    private boolean toggle;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("student_service_benchmark");
+        BenchmarkContext.seed(context, students);
+        studentService = context.getBean(StudentService.class);
+
+        departmentId = context.getBean(DepartmentRepository.class).findAll().get(0).getId();
+        List<Long> courseIds = context.getBean(CourseRepository.class).findAll().stream()
+                .map(Course::getId)
+                .toList();
+        courseIdsA = Set.of(courseIds.get(0), courseIds.get(1), courseIds.get(2));
+        courseIdsB = Set.of(courseIds.get(1), courseIds.get(2), courseIds.get(3));
+
+        updatedStudentId = context.getBean(StudentRepository.class)
+                .findAll(PageRequest.of(0, 1, Sort.by("id")))
+                .getContent().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getAllStudents() {
+        return studentService.getAllStudents(StudentFetchPlan.FULL);
+    }
+
+    @Benchmark
+    public Object getStudentPage() {
+        return studentService.getStudentPage(null, StudentService.DEFAULT_PAGE_SIZE, StudentField.parse(null));
+    }
+
+    @Benchmark
+    public Object getStudentById() {
+        return studentService.getStudentById(updatedStudentId, StudentFetchPlan.FULL);
+    }
+
+    @Benchmark
+    public Object createStudent() {
+        long n = emailSequence.incrementAndGet();
+        Student student = new Student("Bench " + n, "bench" + n + "@example.com");
+        return studentService.saveStudent(student, departmentId, courseIdsA, new StudentProfile("Street " + n, null));
+    }
+
+    @Benchmark
+    public Object updateStudentCourses() {
+        // Alternate between two overlapping course sets so every call changes two links
+        toggle = !toggle;
+        Student data = new Student("Updated", "updated@example.com");
+        return studentService.updateStudent(updatedStudentId, data, departmentId, toggle ? courseIdsA : courseIdsB, null);
+    }
+}
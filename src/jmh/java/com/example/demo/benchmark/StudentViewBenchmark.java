@@ -0,0 +1,95 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.StudentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load-and-serialize cost of a student response: entity graphs serialized
+ * inside the transaction, as the REST controllers did with open-session-in-view,
+ * versus StudentView records built from column projections.
+ * Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentViewBenchmark {
+
+    @Param({"1000"})
+    public int students;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private StudentRepository studentRepository;
+    private StudentService studentService;
+    private TransactionTemplate readOnlyTransaction;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkContext.start("student_view_benchmark");
+        BenchmarkContext.seed(context, students);
+        objectMapper = context.getBean(ObjectMapper.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        studentService = context.getBean(StudentService.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        ids = studentRepository.findSummariesAfter(0L, Limit.of(batchSize)).stream()
+                .map(StudentSummary::getId)
+                .toList();
+
+        System.out.printf("%n%d students: entity payload %d bytes, view payload %d bytes%n",
+                batchSize, entityResponse().length, viewResponse().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityResponse() {
+        return readOnlyTransaction.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(studentRepository.findAllWithFullGraphByIdIn(ids));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public byte[] viewResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studentService.getStudentsByIds(ids).getItems());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps how many threads may hold a JDBC connection at once.
+ *
+ * With virtual threads the servlet container no longer bounds request
+ * concurrency, so thousands of requests can reach the pool together. Callers
+ * beyond the limit park on a fair semaphore (cheap for virtual threads) rather
+ * than inside the pool, and give up with SQLTransientConnectionException once
+ * the acquire timeout passes. A permit is released when the connection is closed.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final String poolName;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, String poolName, int maxConcurrent,
+                                         Duration acquireTimeout) {
+        super(targetDataSource);
+        this.poolName = poolName;
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gauges for this gate, tagged with its pool name
+     */
+    public void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("jdbc.concurrency.limit", this, ConcurrencyLimitingDataSource::getMaxConcurrent)
+                .description("Maximum concurrent JDBC connections allowed by the gate")
+                .tag("pool", poolName)
+                .register(registry);
+        Gauge.builder("jdbc.concurrency.available", this, ConcurrencyLimitingDataSource::getAvailablePermits)
+                .description("Permits currently free at the JDBC gate")
+                .tag("pool", poolName)
+                .register(registry);
+        Gauge.builder("jdbc.concurrency.waiting", this, ConcurrencyLimitingDataSource::getWaitingThreads)
+                .description("Threads waiting for a JDBC permit")
+                .tag("pool", poolName)
+                .register(registry);
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("JDBC concurrency limit of " + maxConcurrent
+                        + " on the " + poolName + " pool reached; no permit within " + Duration.ofNanos(acquireTimeoutNanos).toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC permit", e);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new PermitReleasingHandler(connection));
+    }
+
+    private class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Limited[" + target + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                // Release even if close() throws; the pool has taken the connection back either way
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
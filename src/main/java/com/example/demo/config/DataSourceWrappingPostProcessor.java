@@ -0,0 +1,46 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * Replaces the "dataSource" bean with a wrapper around it.
+ *
+ * Post-processors run in ascending order, so a lower order wraps first and
+ * ends up closer to the pool. The orders below fix the nesting of the
+ * optional wrappers, innermost first:
+ * Monitoring(LazyConnection(ReadWriteRouting(Limiting(primary), Limiting(replica)))).
+ * Factory methods must declare this type (not BeanPostProcessor) so Spring
+ * sees the order before creating them.
+ */
+abstract class DataSourceWrappingPostProcessor implements BeanPostProcessor, Ordered {
+
+    static final int CONCURRENCY_LIMIT_ORDER = 100;
+    static final int READ_REPLICA_ORDER = 200;
+    static final int MONITORING_ORDER = 300;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final int order;
+
+    DataSourceWrappingPostProcessor(int order) {
+        this.order = order;
+    }
+
+    protected abstract DataSource wrap(DataSource dataSource);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+            return wrap(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.IdGeneration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves every ID sequence past the highest existing ID at startup.
+ *
+ * Tables created while the entities used IDENTITY columns already contain
+ * rows, but the pooled sequences that replaced them start at 1. This runs
+ * before the web server accepts requests and only ever moves a sequence forward.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // table -> sequence (or sequence table on databases without sequences)
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("students", "students_seq");
+        SEQUENCES.put("student_profiles", "student_profiles_seq");
+        SEQUENCES.put("courses", "courses_seq");
+        SEQUENCES.put("departments", "departments_seq");
+        SEQUENCES.put("users", "users_seq");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        SequenceSupport sequenceSupport = dialect.getSequenceSupport();
+
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            if (maxId == null || maxId == 0) {
+                return;
+            }
+
+            // The pooled optimizer treats a fetched value as the top of its block,
+            // so the next value must clear maxId by a full allocation
+            long required = maxId + IdGeneration.ALLOCATION_SIZE + 1;
+
+            if (sequenceSupport.supportsSequences()) {
+                Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+                if (next != null && next < required) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+                    log.info("Restarted sequence {} at {} (max {}.id = {})", sequence, required, table, maxId);
+                }
+            } else {
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", required, required);
+                if (updated > 0) {
+                    log.info("Advanced sequence table {} to {} (max {}.id = {})", sequence, required, table, maxId);
+                }
+            }
+        });
+    }
+}
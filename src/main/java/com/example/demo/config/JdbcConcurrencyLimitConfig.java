@@ -0,0 +1,66 @@
+package com.example.demo.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Puts a ConcurrencyLimitingDataSource in front of the connection pool when
+ * app.jdbc.concurrency-limit.enabled=true (the virtual-threads profile turns it on).
+ * The limit defaults to the Hikari pool size, so callers wait at the gate
+ * instead of inside the pool. With a read replica, ReadReplicaConfig gives
+ * the replica pool a gate of its own through limit().
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.concurrency-limit.enabled", havingValue = "true")
+public class JdbcConcurrencyLimitConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcConcurrencyLimitConfig.class);
+
+    static final String ENABLED_PROPERTY = "app.jdbc.concurrency-limit.enabled";
+
+    // static: post-processors are created before regular configuration beans
+    @Bean
+    public static DataSourceWrappingPostProcessor jdbcConcurrencyLimitPostProcessor(Environment environment) {
+        return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.CONCURRENCY_LIMIT_ORDER) {
+            @Override
+            protected DataSource wrap(DataSource dataSource) {
+                Binder binder = Binder.get(environment);
+                int poolSize = binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10);
+                int maxConcurrent = binder.bind("app.jdbc.concurrency-limit.max-concurrent", Integer.class).orElse(poolSize);
+                return limit(dataSource, "primary", maxConcurrent, environment);
+            }
+        };
+    }
+
+    /**
+     * Gate in front of one pool, with the configured acquire timeout
+     */
+    static ConcurrencyLimitingDataSource limit(DataSource pool, String poolName, int maxConcurrent,
+                                               Environment environment) {
+        Duration acquireTimeout = Binder.get(environment)
+                .bind("app.jdbc.concurrency-limit.acquire-timeout", Duration.class)
+                .orElse(Duration.ofSeconds(30));
+        log.info("Limiting JDBC concurrency on the {} pool to {} connections (acquire timeout {})",
+                poolName, maxConcurrent, acquireTimeout);
+        return new ConcurrencyLimitingDataSource(pool, poolName, maxConcurrent, acquireTimeout);
+    }
+
+    @Bean
+    public MeterBinder jdbcConcurrencyLimitMetrics(DataSource dataSource) throws SQLException {
+        // With a read replica this is the primary's gate (unwrap follows the default route)
+        ConcurrencyLimitingDataSource gate = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+        return gate::registerMetrics;
+    }
+}
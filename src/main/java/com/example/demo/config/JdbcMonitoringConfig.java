@@ -0,0 +1,53 @@
+package com.example.demo.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Wraps the connection pool in a MonitoringDataSource when
+ * app.jdbc.monitoring.enabled=true (the perf profile turns it on). The leak
+ * threshold is the pool's spring.datasource.hikari.leak-detection-threshold,
+ * so the gauge and Hikari's leak warnings agree.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.monitoring.enabled", havingValue = "true")
+public class JdbcMonitoringConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcMonitoringConfig.class);
+
+    // Outermost wrapper: with a read replica it sees the statements and connections of both pools
+    @Bean
+    public static DataSourceWrappingPostProcessor jdbcMonitoringPostProcessor(Environment environment) {
+        return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.MONITORING_ORDER) {
+            @Override
+            protected DataSource wrap(DataSource dataSource) {
+                Binder binder = Binder.get(environment);
+                Duration slowQueryThreshold = binder.bind("app.jdbc.monitoring.slow-query-threshold", Duration.class)
+                        .orElse(Duration.ofMillis(500));
+                Duration leakThreshold = Duration.ofMillis(binder
+                        .bind("spring.datasource.hikari.leak-detection-threshold", Long.class).orElse(0L));
+                log.info("Monitoring JDBC statements (slow query threshold {}, leak threshold {})",
+                        slowQueryThreshold, leakThreshold);
+                return new MonitoringDataSource(dataSource, slowQueryThreshold, leakThreshold);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcMonitoringMetrics(DataSource dataSource) throws SQLException {
+        MonitoringDataSource monitor = dataSource.unwrap(MonitoringDataSource.class);
+        return monitor::registerMetrics;
+    }
+}
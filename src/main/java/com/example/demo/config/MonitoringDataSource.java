@@ -0,0 +1,229 @@
+package com.example.demo.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every JDBC statement execution and watches how long connections are held.
+ *
+ * Executions are recorded in jdbc.statements (tagged by execute method), and
+ * those slower than the slow-query threshold are also counted in
+ * jdbc.statements.slow and logged with their SQL (placeholders only, never
+ * bound values). Connections held longer than the leak threshold are counted
+ * by the jdbc.connections.suspected-leaks gauge; Hikari's own leak detection
+ * logs where they were acquired.
+ *
+ * Nothing is recorded until registerMetrics has been called.
+ */
+public class MonitoringDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitoringDataSource.class);
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final long slowQueryNanos;
+    private final long leakThresholdNanos;
+    private final Set<ConnectionHandler> openConnections = ConcurrentHashMap.newKeySet();
+
+    private volatile Map<String, Timer> timers = Map.of();
+    private volatile Counter slowStatements;
+
+    public MonitoringDataSource(DataSource targetDataSource, Duration slowQueryThreshold, Duration leakThreshold) {
+        super(targetDataSource);
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.leakThresholdNanos = leakThreshold.toNanos();
+    }
+
+    public void registerMetrics(MeterRegistry registry) {
+        Map<String, Timer> byMethod = new HashMap<>();
+        for (String method : new String[] {"execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+                "executeBatch", "executeLargeBatch"}) {
+            byMethod.put(method, Timer.builder("jdbc.statements")
+                    .description("JDBC statement execution time")
+                    .tag("method", method)
+                    .register(registry));
+        }
+        slowStatements = Counter.builder("jdbc.statements.slow")
+                .description("JDBC statements slower than app.jdbc.monitoring.slow-query-threshold")
+                .register(registry);
+        Gauge.builder("jdbc.connections.held.longest", this, MonitoringDataSource::getLongestHeldSeconds)
+                .description("How long the longest-held open connection has been checked out")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("jdbc.connections.suspected-leaks", this, MonitoringDataSource::getSuspectedLeaks)
+                .description("Open connections held longer than the leak detection threshold")
+                .register(registry);
+        timers = Map.copyOf(byMethod);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitored(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitored(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    public double getLongestHeldSeconds() {
+        long now = System.nanoTime();
+        long longest = 0;
+        for (ConnectionHandler connection : openConnections) {
+            longest = Math.max(longest, now - connection.openedAt);
+        }
+        return longest / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public int getSuspectedLeaks() {
+        if (leakThresholdNanos <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        int leaks = 0;
+        for (ConnectionHandler connection : openConnections) {
+            if (now - connection.openedAt > leakThresholdNanos) {
+                leaks++;
+            }
+        }
+        return leaks;
+    }
+
+    private Connection monitored(Connection connection) {
+        ConnectionHandler handler = new ConnectionHandler(connection);
+        openConnections.add(handler);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                handler);
+    }
+
+    private void recordExecution(String method, String sql, long elapsedNanos) {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            return;
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos >= slowQueryNanos) {
+            slowStatements.increment();
+            if (log.isWarnEnabled()) {
+                log.warn("Slow SQL ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), abbreviate(sql));
+            }
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= MAX_LOGGED_SQL_LENGTH
+                ? singleLine
+                : singleLine.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final long openedAt = System.nanoTime();
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Monitored[" + target + "]";
+                case "close":
+                    openConnections.remove(this);
+                    break;
+                default:
+                    break;
+            }
+            Object result = MonitoringDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement
+                    && (name.startsWith("prepare") || name.equals("createStatement"))) {
+                // prepareStatement/prepareCall carry their SQL; plain statements get it per execute call
+                String sql = name.startsWith("prepare") ? (String) args[0] : null;
+                return Proxy.newProxyInstance(
+                        Statement.class.getClassLoader(),
+                        new Class<?>[] {method.getReturnType()},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Monitored[" + target + "]";
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                return MonitoringDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return MonitoringDataSource.invoke(target, method, args);
+            } finally {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                recordExecution(name, sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
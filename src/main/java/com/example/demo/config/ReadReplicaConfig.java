@@ -0,0 +1,108 @@
+package com.example.demo.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Routes read-only transactions to a replica when app.read-replica.enabled=true.
+ *
+ * The replica is a second Hikari pool configured under
+ * app.read-replica.datasource.* with Hikari's own property names (jdbc-url,
+ * username, password, maximum-pool-size, ...). The primary stays the pool
+ * Spring Boot builds from spring.datasource.*.
+ *
+ * With app.jdbc.concurrency-limit.enabled the replica pool gets its own gate,
+ * sized to the replica pool; JDBC monitoring wraps the routing data source
+ * and so covers both pools (see DataSourceWrappingPostProcessor for the order).
+ *
+ * Hibernate is switched to release its connection after every transaction.
+ * By default Spring keeps it for the whole EntityManager, which with
+ * open-in-view spans the request, so a write following a read-only call would
+ * reuse the replica connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    public static DataSourceWrappingPostProcessor readReplicaRoutingPostProcessor(Environment environment) {
+        return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.READ_REPLICA_ORDER) {
+            @Override
+            protected DataSource wrap(DataSource primary) {
+                Binder binder = Binder.get(environment);
+                HikariDataSource replica = new HikariDataSource();
+                replica.setPoolName("replica");
+                replica.setReadOnly(true);
+                binder.bind("app.read-replica.datasource", Bindable.ofInstance(replica));
+                if (replica.getJdbcUrl() == null) {
+                    throw new IllegalStateException(
+                            "app.read-replica.enabled=true requires app.read-replica.datasource.jdbc-url");
+                }
+                Duration window = binder.bind("app.read-replica.read-your-writes-window", Duration.class)
+                        .orElse(Duration.ofSeconds(5));
+                log.info("Routing read-only transactions to replica {} (read-your-writes window {})",
+                        replica.getJdbcUrl(), window);
+                DataSource replicaTarget = replica;
+                if (binder.bind(JdbcConcurrencyLimitConfig.ENABLED_PROPERTY, Boolean.class).orElse(false)) {
+                    // Unset until the pool starts, which then applies Hikari's default of 10
+                    int poolSize = replica.getMaximumPoolSize() > 0 ? replica.getMaximumPoolSize() : 10;
+                    replicaTarget = JdbcConcurrencyLimitConfig.limit(replica, "replica", poolSize, environment);
+                }
+                return new LazyConnectionDataSourceProxy(
+                        new ReadWriteRoutingDataSource(primary, replicaTarget, window));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer readReplicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public MeterBinder readReplicaPoolMetrics(DataSource dataSource) throws SQLException {
+        DataSource replica = dataSource.unwrap(ReadWriteRoutingDataSource.class).getReplica();
+        HikariDataSource pool = replica.unwrap(HikariDataSource.class);
+        return registry -> {
+            // Only possible before the pool starts; Spring Boot instruments the primary itself
+            if (!pool.isRunning()) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            if (replica instanceof ConcurrencyLimitingDataSource gate) {
+                gate.registerMetrics(registry);
+            }
+        };
+    }
+
+    // The primary is closed by Spring Boot; the replica pool is ours to close
+    @Bean
+    public DisposableBean readReplicaPoolCloser(DataSource dataSource) throws SQLException {
+        HikariDataSource pool = dataSource.unwrap(ReadWriteRoutingDataSource.class).getReplica()
+                .unwrap(HikariDataSource.class);
+        return pool::close;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * The route is chosen when a connection is fetched, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager opens its connection
+ * before the transaction is marked read-only, and the proxy defers fetching
+ * the real one to the first statement.
+ *
+ * Replicas lag. Once a user's read-write transaction commits, that user's
+ * read-only transactions stay on the primary for the read-your-writes window,
+ * so they see their own changes. Reads without an authenticated user always
+ * go to the replica.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Route a connection fetched now would take
+     */
+    public Route currentRoute() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // The window starts when the write becomes visible, not when it begins
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(user, Boolean.TRUE);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
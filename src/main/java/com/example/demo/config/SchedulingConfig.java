@@ -0,0 +1,12 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (e.g. enrollment counter reconciliation)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hands Hibernate's second-level cache a Caffeine JCache manager configured
+ * from hibernate-cache.conf.
+ *
+ * Hibernate resolves hibernate.javax.cache.uri to a URL itself, which inside
+ * the packaged jar is not one Caffeine can read, so the manager is created
+ * here with a classpath: URI instead.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final URI CACHE_CONFIG = URI.create("classpath:hibernate-cache.conf");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CACHE_CONFIG, getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
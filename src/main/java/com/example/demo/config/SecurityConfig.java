@@ -1,7 +1,11 @@
 package com.example.demo.config;
 
+import com.example.demo.security.BCryptStrengthCalibrator;
 import com.example.demo.security.CustomUserDetailsService;
 import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +21,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true) // Enable @PreAuthorize annotations
@@ -32,7 +38,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
@@ -43,8 +50,9 @@ public class SecurityConfig {
                 // Swagger/OpenAPI - public
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 
-                // Actuator - public
-                .requestMatchers("/actuator/**").permitAll()
+                // Actuator - health and info public; metrics reveal URIs, SQL timings and pool state (ADMIN ONLY)
+                .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Static resources - public
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/static/**").permitAll()
@@ -52,9 +60,10 @@ public class SecurityConfig {
                 // H2 Console - public (dev only)
                 .requestMatchers("/h2-console/**").permitAll()
                 
-                // REST API - Department & Course Management (ADMIN ONLY)
+                // REST API - Department & Course Management, Statistics (ADMIN ONLY)
                 .requestMatchers("/api/departments/**").hasRole("ADMIN")
                 .requestMatchers("/api/courses/**").hasRole("ADMIN")
+                .requestMatchers("/api/stats/**").hasRole("ADMIN")
                 
                 // REST API - Student Management (ADMIN and USER)
                 .requestMatchers("/api/students/**").hasAnyRole("ADMIN", "USER")
@@ -65,7 +74,7 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         http.headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
@@ -74,16 +83,23 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-hash stored passwords at the current strength after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
+    // BCrypt strength is calibrated at startup to fit the target hash time
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.bcrypt.target-time:250ms}") Duration targetTime,
+                                           @Value("${security.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${security.bcrypt.max-strength:14}") int maxStrength) {
+        int strength = BCryptStrengthCalibrator.calibrate(targetTime, minStrength, maxStrength);
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
     }
 
     @Bean
@@ -7,19 +7,20 @@ import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.CustomUserDetails;
 import com.example.demo.security.JwtUtil;
+import com.example.demo.security.PasswordHashingExecutor;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -29,19 +30,30 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     public AuthController(AuthenticationManager authenticationManager,
                          UserRepository userRepository,
                          PasswordEncoder passwordEncoder,
-                         JwtUtil jwtUtil) {
+                         JwtUtil jwtUtil,
+                         PasswordHashingExecutor passwordHashingExecutor) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
+    /**
+     * BCrypt verification runs on the bounded hashing pool; the request thread
+     * is released while it waits, and a saturated pool answers 429 at once.
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        return passwordHashingExecutor.submit(() -> authenticate(loginRequest));
+    }
+
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -50,8 +62,6 @@ public class AuthController {
                     )
             );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             String jwt = jwtUtil.generateToken(userDetails);
 
@@ -74,39 +84,42 @@ public class AuthController {
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
         
         // Check if username exists
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Username is already taken");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
         }
 
         // Check if email exists
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Email is already in use");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
         }
 
-        // Create new user
-        User user = new User(
-                registerRequest.getUsername(),
-                registerRequest.getEmail(),
-                passwordEncoder.encode(registerRequest.getPassword())
-        );
+        // Hash on the bounded hashing pool, then create the user
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(registerRequest.getPassword()))
+                .thenApply(encodedPassword -> {
+                    User user = new User(
+                            registerRequest.getUsername(),
+                            registerRequest.getEmail(),
+                            encodedPassword
+                    );
 
-        // Assign default role
-        user.addRole("USER");
+                    // Assign default role
+                    user.addRole("USER");
 
-        userRepository.save(user);
+                    userRepository.save(user);
 
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "User registered successfully");
-        response.put("username", user.getUsername());
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "User registered successfully");
+                    response.put("username", user.getUsername());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                });
     }
 
     @GetMapping("/me")
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import java.util.Map;
+
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -9,7 +11,10 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.example.demo.dto.CourseDto;
 import com.example.demo.entity.Course;
 import com.example.demo.service.CourseService;
+import com.example.demo.service.DataVersions.DataSet;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @Controller
@@ -17,19 +22,28 @@ import jakarta.validation.Valid;
 public class CourseController {
 
     private final CourseService courseService;
+    private final ViewFragmentCache viewFragmentCache;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, ViewFragmentCache viewFragmentCache) {
         this.courseService = courseService;
+        this.viewFragmentCache = viewFragmentCache;
     }
 
     /**
      * Display list of all courses
      * Everyone can view
+     * The table is served from ViewFragmentCache; answers 304 when If-None-Match carries the current ETag
      */
     @GetMapping
-    public String listCourses(Model model) {
+    public String listCourses(Model model, HttpServletRequest request, HttpServletResponse response) {
         try {
-            model.addAttribute("courses", courseService.getAllCourses());
+            ViewFragmentCache.Fragment table = viewFragmentCache.get("course-table",
+                    () -> Map.of("courses", courseService.getAllCourses()),
+                    request, response, DataSet.COURSES, DataSet.STUDENTS);
+            if (viewFragmentCache.notModified(table, model, request, response)) {
+                return null;
+            }
+            model.addAttribute("courseTable", table.html());
             return "courses";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error loading courses: " + e.getMessage());
@@ -2,12 +2,18 @@ package com.example.demo.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.demo.dto.CourseDto;
+import com.example.demo.dto.CoursePair;
+import com.example.demo.dto.CourseView;
+import com.example.demo.dto.TableVersionStamp;
 import com.example.demo.entity.Course;
+import com.example.demo.search.EnrollmentGraphIndex;
 import com.example.demo.service.CourseService;
 
 import jakarta.validation.Valid;
@@ -17,18 +23,42 @@ import jakarta.validation.Valid;
 public class CourseRestController {
 
     private final CourseService courseService;
+    private final EnrollmentGraphIndex enrollmentGraph;
 
-    public CourseRestController(CourseService courseService) {
+    public CourseRestController(CourseService courseService, EnrollmentGraphIndex enrollmentGraph) {
         this.courseService = courseService;
+        this.enrollmentGraph = enrollmentGraph;
     }
 
     /**
      * Get all courses
      * Everyone (ADMIN + USER) can view
+     * Answers 304 without loading courses when If-None-Match carries the current ETag
      */
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<List<CourseView>> getAllCourses(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TableVersionStamp stamp = courseService.getCoursesVersionStamp();
+        String etag = ETags.of(stamp.getRowCount(), stamp.getIdSum(), stamp.getVersionSum());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(courseService.getAllCourseViews());
+    }
+
+    /**
+     * Most common course pairs: the pairs with the most students enrolled in both
+     * Everyone (ADMIN + USER) can view
+     * While the enrollment graph is still being built, carries X-Enrollment-Graph: building
+     */
+    @GetMapping("/pairs")
+    public ResponseEntity<List<CoursePair>> getTopCoursePairs(
+            @RequestParam(defaultValue = "" + CourseService.DEFAULT_PAIR_LIMIT) int limit) {
+        List<CoursePair> pairs = courseService.getTopCoursePairs(limit);
+        if (!enrollmentGraph.isReady()) {
+            return ResponseEntity.ok().header("X-Enrollment-Graph", "building").body(pairs);
+        }
+        return ResponseEntity.ok(pairs);
     }
 
     /**
@@ -36,9 +66,13 @@ public class CourseRestController {
      * Everyone (ADMIN + USER) can view
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
-        Course course = courseService.getCourseById(id);
-        return ResponseEntity.ok(course);
+    public ResponseEntity<CourseView> getCourseById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(courseService.getCourseVersion(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(courseService.getCourseView(id));
     }
 
     /**
@@ -47,23 +81,25 @@ public class CourseRestController {
      */
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Course> createCourse(@Valid @RequestBody Course course) {
-        Course savedCourse = courseService.saveCourse(course);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedCourse);
+    public ResponseEntity<CourseView> createCourse(@Valid @RequestBody CourseDto dto) {
+        Course savedCourse = courseService.saveCourse(new Course(dto.getTitle()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toView(savedCourse));
     }
 
     /**
      * Update existing course
      * ADMIN ONLY
+     * With If-Match, answers 412 unless it carries the current ETag
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Course> updateCourse(@PathVariable Long id, 
-                                               @Valid @RequestBody Course course) {
-        Course existingCourse = courseService.getCourseById(id);
-        existingCourse.setTitle(course.getTitle());
-        Course updatedCourse = courseService.saveCourse(existingCourse);
-        return ResponseEntity.ok(updatedCourse);
+    public ResponseEntity<CourseView> updateCourse(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @Valid @RequestBody CourseDto dto) {
+        // Optimistic concurrency: refuse to overwrite a version the client has not seen
+        Course updatedCourse = courseService.updateCourse(id, new Course(dto.getTitle()),
+                version -> ifMatch == null || ETags.matchesStrong(ifMatch, ETags.of(version)));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCourse.getVersion())).body(toView(updatedCourse));
     }
 
     /**
@@ -76,4 +112,8 @@ public class CourseRestController {
         courseService.deleteCourse(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static CourseView toView(Course course) {
+        return new CourseView(course.getId(), course.getTitle());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import java.util.Map;
+
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -9,7 +11,10 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.example.demo.dto.DepartmentDto;
 import com.example.demo.entity.Department;
 import com.example.demo.service.DepartmentService;
+import com.example.demo.service.DataVersions.DataSet;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @Controller
@@ -17,19 +22,28 @@ import jakarta.validation.Valid;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final ViewFragmentCache viewFragmentCache;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, ViewFragmentCache viewFragmentCache) {
         this.departmentService = departmentService;
+        this.viewFragmentCache = viewFragmentCache;
     }
 
     /**
      * Display list of all departments
      * Everyone can view
+     * The table is served from ViewFragmentCache; answers 304 when If-None-Match carries the current ETag
      */
     @GetMapping
-    public String listDepartments(Model model) {
+    public String listDepartments(Model model, HttpServletRequest request, HttpServletResponse response) {
         try {
-            model.addAttribute("departments", departmentService.getAllDepartments());
+            ViewFragmentCache.Fragment table = viewFragmentCache.get("department-table",
+                    () -> Map.of("departments", departmentService.getAllDepartments()),
+                    request, response, DataSet.DEPARTMENTS, DataSet.STUDENTS);
+            if (viewFragmentCache.notModified(table, model, request, response)) {
+                return null;
+            }
+            model.addAttribute("departmentTable", table.html());
             return "departments";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error loading departments: " + e.getMessage());
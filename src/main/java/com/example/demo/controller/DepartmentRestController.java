@@ -2,13 +2,19 @@ package com.example.demo.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.demo.dto.BulkChangeResult;
+import com.example.demo.dto.DepartmentDto;
+import com.example.demo.dto.DepartmentView;
+import com.example.demo.dto.TableVersionStamp;
 import com.example.demo.entity.Department;
 import com.example.demo.service.DepartmentService;
+import com.example.demo.service.StudentService;
 
 import jakarta.validation.Valid;
 
@@ -17,18 +23,27 @@ import jakarta.validation.Valid;
 public class DepartmentRestController {
 
     private final DepartmentService departmentService;
+    private final StudentService studentService;
 
-    public DepartmentRestController(DepartmentService departmentService) {
+    public DepartmentRestController(DepartmentService departmentService, StudentService studentService) {
         this.departmentService = departmentService;
+        this.studentService = studentService;
     }
 
     /**
      * Get all departments
      * Everyone (ADMIN + USER) can view
+     * Answers 304 without loading departments when If-None-Match carries the current ETag
      */
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        return ResponseEntity.ok(departmentService.getAllDepartments());
+    public ResponseEntity<List<DepartmentView>> getAllDepartments(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TableVersionStamp stamp = departmentService.getDepartmentsVersionStamp();
+        String etag = ETags.of(stamp.getRowCount(), stamp.getIdSum(), stamp.getVersionSum());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(departmentService.getAllDepartmentViews());
     }
 
     /**
@@ -36,9 +51,13 @@ public class DepartmentRestController {
      * Everyone (ADMIN + USER) can view
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
-        Department department = departmentService.getDepartmentById(id);
-        return ResponseEntity.ok(department);
+    public ResponseEntity<DepartmentView> getDepartmentById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.of(departmentService.getDepartmentVersion(id));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(departmentService.getDepartmentView(id));
     }
 
     /**
@@ -47,23 +66,25 @@ public class DepartmentRestController {
      */
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Department> createDepartment(@Valid @RequestBody Department department) {
-        Department savedDepartment = departmentService.saveDepartment(department);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedDepartment);
+    public ResponseEntity<DepartmentView> createDepartment(@Valid @RequestBody DepartmentDto dto) {
+        Department savedDepartment = departmentService.saveDepartment(new Department(dto.getName()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toView(savedDepartment));
     }
 
     /**
      * Update existing department
      * ADMIN ONLY
+     * With If-Match, answers 412 unless it carries the current ETag
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Department> updateDepartment(@PathVariable Long id, 
-                                                       @Valid @RequestBody Department department) {
-        Department existingDepartment = departmentService.getDepartmentById(id);
-        existingDepartment.setName(department.getName());
-        Department updatedDepartment = departmentService.saveDepartment(existingDepartment);
-        return ResponseEntity.ok(updatedDepartment);
+    public ResponseEntity<DepartmentView> updateDepartment(@PathVariable Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @Valid @RequestBody DepartmentDto dto) {
+        // Optimistic concurrency: refuse to overwrite a version the client has not seen
+        Department updatedDepartment = departmentService.updateDepartment(id, new Department(dto.getName()),
+                version -> ifMatch == null || ETags.matchesStrong(ifMatch, ETags.of(version)));
+        return ResponseEntity.ok().eTag(ETags.of(updatedDepartment.getVersion())).body(toView(updatedDepartment));
     }
 
     /**
@@ -76,4 +97,29 @@ public class DepartmentRestController {
         departmentService.deleteDepartment(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Delete every student of the department, keeping the department
+     * ADMIN ONLY
+     */
+    @DeleteMapping("/{id}/students")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkChangeResult> deleteDepartmentStudents(@PathVariable Long id) {
+        return ResponseEntity.ok(studentService.deleteStudentsOfDepartment(id));
+    }
+
+    /**
+     * Move every student of the department to department toDepartmentId
+     * ADMIN ONLY
+     */
+    @PostMapping("/{id}/students/move")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkChangeResult> moveDepartmentStudents(@PathVariable Long id,
+                                                                   @RequestParam Long toDepartmentId) {
+        return ResponseEntity.ok(studentService.moveStudents(id, toDepartmentId));
+    }
+
+    private static DepartmentView toView(Department department) {
+        return new DepartmentView(department.getId(), department.getName());
+    }
+}
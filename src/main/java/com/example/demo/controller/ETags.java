@@ -0,0 +1,58 @@
+package com.example.demo.controller;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Building and matching strong entity tags for conditional requests
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Quoted tag made of the given parts; null parts are written as 0
+     */
+    static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(part -> Objects.toString(part, "0"))
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Whether an If-None-Match header value lists the tag (or is "*").
+     * Weak comparison: W/ tags match their strong counterpart.
+     */
+    static boolean matches(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    /**
+     * Whether an If-Match header value lists the tag (or is "*").
+     * Strong comparison: W/ tags never match.
+     */
+    static boolean matchesStrong(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    private static boolean matches(String header, String etag, boolean weak) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.dto.DepartmentStudentCount;
+import com.example.demo.dto.EnrollmentSummary;
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.service.EnrollmentStatsService;
+import com.example.demo.service.StudentService;
+
+/**
+ * Enrollment statistics computed in the database
+ * ADMIN ONLY
+ */
+@RestController
+@RequestMapping("/api/stats")
+@PreAuthorize("hasRole('ADMIN')")
+public class StatsRestController {
+
+    private final EnrollmentStatsService enrollmentStatsService;
+
+    public StatsRestController(EnrollmentStatsService enrollmentStatsService) {
+        this.enrollmentStatsService = enrollmentStatsService;
+    }
+
+    /**
+     * Totals: students, students without a department or courses, enrollments
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<EnrollmentSummary> getSummary() {
+        return ResponseEntity.ok(enrollmentStatsService.getSummary());
+    }
+
+    /**
+     * Student count per department
+     */
+    @GetMapping("/departments")
+    public ResponseEntity<List<DepartmentStudentCount>> getStudentCountsByDepartment() {
+        return ResponseEntity.ok(enrollmentStatsService.getStudentCountsByDepartment());
+    }
+
+    /**
+     * Enrollment count per course
+     */
+    @GetMapping("/courses")
+    public ResponseEntity<List<CourseEnrollmentCount>> getEnrollmentCountsByCourse() {
+        return ResponseEntity.ok(enrollmentStatsService.getEnrollmentCountsByCourse());
+    }
+
+    /**
+     * Students enrolled in no course, paged by id: pass the last id seen as afterId
+     */
+    @GetMapping("/students-without-courses")
+    public ResponseEntity<List<StudentSummary>> getStudentsWithoutCourses(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(enrollmentStatsService.getStudentsWithoutCourses(afterId, limit));
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.controller;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,9 +17,13 @@ import com.example.demo.entity.Department;
 import com.example.demo.entity.Student;
 import com.example.demo.entity.StudentProfile;
 import com.example.demo.service.CourseService;
+import com.example.demo.service.DataVersions.DataSet;
 import com.example.demo.service.DepartmentService;
+import com.example.demo.service.StudentFetchPlan;
 import com.example.demo.service.StudentService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @Controller
@@ -28,19 +33,30 @@ public class StudentController {
     private final StudentService studentService;
     private final DepartmentService departmentService;
     private final CourseService courseService;
+    private final ViewFragmentCache viewFragmentCache;
 
     public StudentController(StudentService studentService, 
                             DepartmentService departmentService,
-                            CourseService courseService) {
+                            CourseService courseService,
+                            ViewFragmentCache viewFragmentCache) {
         this.studentService = studentService;
         this.departmentService = departmentService;
         this.courseService = courseService;
+        this.viewFragmentCache = viewFragmentCache;
     }
 
-    
+    /**
+     * The table is served from ViewFragmentCache; answers 304 when If-None-Match carries the current ETag
+     */
     @GetMapping
-    public String listStudents(Model model) {
-        model.addAttribute("students", studentService.getAllStudents());
+    public String listStudents(Model model, HttpServletRequest request, HttpServletResponse response) {
+        ViewFragmentCache.Fragment table = viewFragmentCache.get("student-table",
+                () -> Map.of("students", studentService.getAllStudents(StudentFetchPlan.FULL)),
+                request, response, DataSet.STUDENTS, DataSet.COURSES, DataSet.DEPARTMENTS);
+        if (viewFragmentCache.notModified(table, model, request, response)) {
+            return null;
+        }
+        model.addAttribute("studentTable", table.html());
         return "students";
     }
 
@@ -56,7 +72,7 @@ public class StudentController {
     
     @GetMapping("/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model) {
-        Student student = studentService.getStudentById(id);
+        Student student = studentService.getStudentById(id, StudentFetchPlan.FULL);
 
         StudentRequestDto dto = new StudentRequestDto();
         dto.setId(student.getId());
@@ -1,45 +1,146 @@
 package com.example.demo.controller;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.demo.dto.BatchResult;
+import com.example.demo.dto.BulkChangeResult;
+import com.example.demo.dto.BulkImportResult;
+import com.example.demo.dto.CoEnrolledStudent;
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.StudentApiRequestDto;
+import com.example.demo.dto.StudentField;
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.dto.StudentVersionStamp;
+import com.example.demo.dto.StudentView;
+import com.example.demo.dto.WriteTicket;
 import com.example.demo.entity.Student;
 import com.example.demo.entity.StudentProfile;
+import com.example.demo.search.EnrollmentGraphIndex;
+import com.example.demo.search.StudentSearchIndex;
+import com.example.demo.service.StudentBulkImportService;
+import com.example.demo.service.StudentExportService;
+import com.example.demo.service.StudentFileFormat;
 import com.example.demo.service.StudentService;
+import com.example.demo.service.StudentWriteBehindService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentRestController {
 
+    private static final long MAX_TICKET_WAIT_MS = 30_000;
+
     private final StudentService studentService;
+    private final StudentBulkImportService studentBulkImportService;
+    private final StudentExportService studentExportService;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentWriteBehindService studentWriteBehindService;
+    private final EnrollmentGraphIndex enrollmentGraph;
 
-    public StudentRestController(StudentService studentService) {
+    public StudentRestController(StudentService studentService,
+                                 StudentBulkImportService studentBulkImportService,
+                                 StudentExportService studentExportService,
+                                 StudentSearchIndex studentSearchIndex,
+                                 StudentWriteBehindService studentWriteBehindService,
+                                 EnrollmentGraphIndex enrollmentGraph) {
         this.studentService = studentService;
+        this.studentBulkImportService = studentBulkImportService;
+        this.studentExportService = studentExportService;
+        this.studentSearchIndex = studentSearchIndex;
+        this.studentWriteBehindService = studentWriteBehindService;
+        this.enrollmentGraph = enrollmentGraph;
     }
 
-   
+    /**
+     * Keyset-paginated student listing.
+     * cursor is the opaque nextCursor of the previous page, fields is a
+     * comma-separated subset of id,name,email,address,phone,departmentId,departmentName,courses
+     */
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<CursorPage<Map<String, Object>>> getAllStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields) {
+        CursorPage<Map<String, Object>> page =
+                studentService.getStudentPage(cursor, limit, StudentField.parse(fields));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Multi-get: GET /api/students?ids=1,2,3 returns full students in request
+     * order, plus the IDs that were not found.
+     * At most StudentService.MAX_PAGE_SIZE IDs per call.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResult<StudentView>> getStudentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(ids));
+    }
+
+    /**
+     * Ranked full-text search over name, email, department and course titles.
+     * Every word must match, as a whole word, a prefix, or with one typo.
+     * While the index is still being built after startup, results are
+     * partial and the response carries X-Search-Index: building.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<StudentSummary>> searchStudents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_SEARCH_LIMIT) int limit) {
+        List<StudentSummary> results = studentService.searchStudents(q, limit);
+        if (!studentSearchIndex.isReady()) {
+            return ResponseEntity.ok().header("X-Search-Index", "building").body(results);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Students sharing at least minShared courses with this one, most shared
+     * first. While the enrollment graph is still being built after startup,
+     * results are partial and the response carries X-Enrollment-Graph: building.
+     */
+    @GetMapping("/{id}/co-enrolled")
+    public ResponseEntity<List<CoEnrolledStudent>> getCoEnrolledStudents(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int minShared,
+            @RequestParam(defaultValue = "" + StudentService.DEFAULT_CO_ENROLLED_LIMIT) int limit) {
+        List<CoEnrolledStudent> results = studentService.getCoEnrolledStudents(id, minShared, limit);
+        if (!enrollmentGraph.isReady()) {
+            return ResponseEntity.ok().header("X-Enrollment-Graph", "building").body(results);
+        }
+        return ResponseEntity.ok(results);
     }
 
-    
+    /**
+     * Answers 304 without loading the student when If-None-Match carries the current ETag
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-        Student student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+    public ResponseEntity<StudentView> getStudentById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = studentETag(id);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(studentService.getStudentView(id));
     }
 
    
     @PostMapping
-    public ResponseEntity<Student> createStudent(@Valid @RequestBody StudentApiRequestDto dto) {
+    public ResponseEntity<StudentView> createStudent(@Valid @RequestBody StudentApiRequestDto dto) {
         Student student = new Student();
         student.setName(dto.getName());
         student.setEmail(dto.getEmail());
@@ -59,36 +160,91 @@ public class StudentRestController {
             profileData
         );
 
-        return new ResponseEntity<>(savedStudent, HttpStatus.CREATED);
+        return new ResponseEntity<>(studentService.getStudentView(savedStudent.getId()), HttpStatus.CREATED);
     }
 
-    
+    /**
+     * With If-Match, answers 412 unless it carries the current ETag (strong
+     * comparison). The check runs in the write transaction, and a write that
+     * races another update of the same student fails with 409.
+     *
+     * With Prefer: respond-async and write-behind enabled, the update is
+     * queued instead (If-Match is checked against the state at queue time):
+     * the response is 202 with a ticket whose Location can be polled.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Student> updateStudent(
+    public ResponseEntity<?> updateStudent(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @Valid @RequestBody StudentApiRequestDto dto) {
-        
-        Student student = new Student();
-        student.setName(dto.getName());
-        student.setEmail(dto.getEmail());
-
-        // Prepare profile data
-        StudentProfile profileData = null;
-        if (dto.getAddress() != null || dto.getPhone() != null) {
-            profileData = new StudentProfile();
-            profileData.setAddress(dto.getAddress());
-            profileData.setPhone(dto.getPhone());
+        if (prefer != null && prefer.contains("respond-async") && studentWriteBehindService.isEnabled()) {
+            if (ifMatch != null && !ETags.matchesStrong(ifMatch, studentETag(id))) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            WriteTicket ticket = studentWriteBehindService.submit(id, dto);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/students/updates/" + ticket.getTicketId()))
+                    .header("Preference-Applied", "respond-async")
+                    .body(ticket);
         }
 
-        Student updatedStudent = studentService.updateStudent(
-            id,
-            student,
-            dto.getDepartmentId(),
-            dto.getCourseIds(),
-            profileData
-        );
+        studentService.updateStudent(id, dto,
+                stamp -> ifMatch == null || ETags.matchesStrong(ifMatch, studentETag(stamp)));
+        return ResponseEntity.ok().eTag(studentETag(id)).body(studentService.getStudentView(id));
+    }
+
+    /**
+     * State of a queued update. waitMs (at most 30 s) holds the request until
+     * the update is written or the time is up.
+     */
+    @GetMapping("/updates/{ticketId}")
+    public ResponseEntity<WriteTicket> getUpdateTicket(@PathVariable String ticketId,
+                                                       @RequestParam(defaultValue = "0") long waitMs) {
+        Duration wait = Duration.ofMillis(Math.max(0, Math.min(waitMs, MAX_TICKET_WAIT_MS)));
+        return ResponseEntity.ok(studentWriteBehindService.getTicket(ticketId, wait));
+    }
+
+    /**
+     * Bulk import from a streamed text/csv or application/x-ndjson body
+     * ADMIN ONLY
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkImportResult> bulkImportStudents(HttpServletRequest request) throws IOException {
+        StudentFileFormat format = StudentFileFormat.fromContentType(request.getContentType());
+        BulkImportResult result = studentBulkImportService.importStudents(request.getInputStream(), format);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Stream every student as NDJSON (default) or CSV, in id order.
+     * afterId resumes an interrupted export after the last id received;
+     * the body is gzip-compressed when the client sends Accept-Encoding: gzip.
+     * ADMIN ONLY
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportStudents(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(defaultValue = "0") long afterId,
+                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                               HttpServletResponse response) throws IOException {
+        StudentFileFormat fileFormat = StudentFileFormat.fromName(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(fileFormat.getMediaType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"students." + fileFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
 
-        return ResponseEntity.ok(updatedStudent);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            try (GZIPOutputStream output = new GZIPOutputStream(response.getOutputStream(), 8192)) {
+                studentExportService.exportStudents(afterId, fileFormat, output);
+            }
+        } else {
+            studentExportService.exportStudents(afterId, fileFormat, response.getOutputStream());
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -96,4 +252,24 @@ public class StudentRestController {
         studentService.deleteStudent(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Delete the students whose IDs are in the JSON array body, at most
+     * StudentService.MAX_BULK_IDS per call; unknown IDs are reported back
+     * ADMIN ONLY
+     */
+    @PostMapping(value = "/bulk-delete", consumes = "application/json")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkChangeResult> deleteStudents(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(studentService.deleteStudents(ids));
+    }
+
+    private String studentETag(Long id) {
+        return studentETag(studentService.getStudentVersionStamp(id));
+    }
+
+    private static String studentETag(StudentVersionStamp stamp) {
+        return ETags.of(stamp.getVersion(), stamp.getProfileVersion(),
+                stamp.getDepartmentVersion(), stamp.getCourseVersionSum());
+    }
 }
@@ -0,0 +1,113 @@
+package com.example.demo.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+import org.springframework.util.DigestUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.example.demo.service.DataVersions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rendered HTML of the list-page tables (templates/fragments), kept until the
+ * data it shows changes.
+ *
+ * Entries are keyed by template and the DataVersions stamp of the data sets
+ * the table depends on, so a hit needs neither a query nor a render. Entries
+ * also expire after app.view-cache.ttl, which bounds how stale a table can be
+ * after writes the local stamps do not see (another instance, direct SQL).
+ * The cache is off when Thymeleaf template caching is off, as in development.
+ *
+ * The page ETag is derived from the fragment content plus the instance start
+ * time, so it survives neither a data change nor a redeploy.
+ */
+@Component
+class ViewFragmentCache {
+
+    record Fragment(String html, String etag) {
+    }
+
+    private record Key(String template, long stamp) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final DataVersions dataVersions;
+    private final boolean enabled;
+    private final Cache<Key, Fragment> cache;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    ViewFragmentCache(ITemplateEngine templateEngine,
+                      DataVersions dataVersions,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.view-cache.enabled:${spring.thymeleaf.cache:true}}") boolean enabled,
+                      @Value("${app.view-cache.ttl:30s}") Duration ttl) {
+        this.templateEngine = templateEngine;
+        this.dataVersions = dataVersions;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(64)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "view-fragments");
+    }
+
+    /**
+     * The rendered fragments/{template}, loading its variables from the
+     * supplier only when the cached copy is missing or out of date
+     */
+    Fragment get(String template, Supplier<Map<String, Object>> variables,
+                 HttpServletRequest request, HttpServletResponse response, DataVersions.DataSet... dependsOn) {
+        if (!enabled) {
+            return render(template, variables.get(), request, response);
+        }
+        Key key = new Key(template, dataVersions.stamp(dependsOn));
+        return cache.get(key, k -> render(template, variables.get(), request, response));
+    }
+
+    /**
+     * Set the page's ETag and answer 304 when If-None-Match carries it. Pages
+     * showing a flash message differ from the cached state and are always sent.
+     */
+    boolean notModified(Fragment fragment, Model model, HttpServletRequest request, HttpServletResponse response) {
+        if (model.containsAttribute("successMessage") || model.containsAttribute("errorMessage")) {
+            return false;
+        }
+        response.setHeader(HttpHeaders.ETAG, fragment.etag());
+        // Revalidate on every visit instead of the no-store default
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), fragment.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    private Fragment render(String template, Map<String, Object> variables,
+                            HttpServletRequest request, HttpServletResponse response) {
+        WebContext context = new WebContext(
+                JakartaServletWebApplication.buildApplication(request.getServletContext())
+                        .buildExchange(request, response),
+                request.getLocale(),
+                variables);
+        String html = templateEngine.process("fragments/" + template, context);
+        String digest = DigestUtils.md5DigestAsHex(html.getBytes(StandardCharsets.UTF_8));
+        return new Fragment(html, ETags.of(epoch, digest));
+    }
+}
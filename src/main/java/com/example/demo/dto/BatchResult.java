@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: the items found, in request order, and the requested
+ * IDs that do not exist.
+ */
+public class BatchResult<T> {
+
+    private List<T> items;
+    private List<Long> missingIds;
+
+    public BatchResult() {
+    }
+
+    public BatchResult(List<T> items, List<Long> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
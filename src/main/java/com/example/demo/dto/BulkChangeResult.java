@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk delete or move: how many students were affected, and the
+ * requested IDs that do not exist.
+ */
+public class BulkChangeResult {
+
+    private long affected;
+    private List<Long> missingIds;
+
+    public BulkChangeResult() {
+    }
+
+    public BulkChangeResult(long affected, List<Long> missingIds) {
+        this.affected = affected;
+        this.missingIds = missingIds;
+    }
+
+    public long getAffected() {
+        return affected;
+    }
+
+    public void setAffected(long affected) {
+        this.affected = affected;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk student import with one entry per rejected row
+ */
+public class BulkImportResult {
+
+    private long processed;
+    private long imported;
+    private List<RowError> errors = new ArrayList<>();
+
+    public BulkImportResult() {
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    // Helper methods
+    public void addError(long row, String email, String message) {
+        errors.add(new RowError(row, email, message));
+    }
+
+    public static class RowError {
+        private long row;
+        private String email;
+        private String message;
+
+        public RowError(long row, String email, String message) {
+            this.row = row;
+            this.email = email;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
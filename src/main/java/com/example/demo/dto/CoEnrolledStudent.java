@@ -0,0 +1,41 @@
+package com.example.demo.dto;
+
+/**
+ * A student who shares courses with another, and how many
+ */
+public class CoEnrolledStudent {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String departmentName;
+    private final int sharedCourses;
+
+    public CoEnrolledStudent(Long id, String name, String email, String departmentName, int sharedCourses) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.departmentName = departmentName;
+        this.sharedCourses = sharedCourses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public int getSharedCourses() {
+        return sharedCourses;
+    }
+}
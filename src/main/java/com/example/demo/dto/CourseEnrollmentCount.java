@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+/**
+ * Number of students enrolled in one course
+ */
+public interface CourseEnrollmentCount {
+
+    Long getCourseId();
+
+    String getTitle();
+
+    Long getEnrollmentCount();
+}
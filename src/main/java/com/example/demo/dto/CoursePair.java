@@ -0,0 +1,29 @@
+package com.example.demo.dto;
+
+/**
+ * Two courses and the number of students enrolled in both
+ */
+public class CoursePair {
+
+    private final CourseView first;
+    private final CourseView second;
+    private final int studentCount;
+
+    public CoursePair(CourseView first, CourseView second, int studentCount) {
+        this.first = first;
+        this.second = second;
+        this.studentCount = studentCount;
+    }
+
+    public CourseView getFirst() {
+        return first;
+    }
+
+    public CourseView getSecond() {
+        return second;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+}
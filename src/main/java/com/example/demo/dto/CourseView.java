@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+/**
+ * Read-side shape of a course in REST responses
+ */
+public record CourseView(Long id, String title) {
+}
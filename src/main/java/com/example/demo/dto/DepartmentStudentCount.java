@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+/**
+ * Number of students in one department
+ */
+public interface DepartmentStudentCount {
+
+    Long getDepartmentId();
+
+    String getDepartmentName();
+
+    Long getStudentCount();
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+/**
+ * Read-side shape of a department in REST responses
+ */
+public record DepartmentView(Long id, String name) {
+}
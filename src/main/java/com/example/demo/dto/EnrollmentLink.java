@@ -0,0 +1,23 @@
+package com.example.demo.dto;
+
+/**
+ * A single student_course row, ids only. Filled by a constructor expression.
+ */
+public class EnrollmentLink {
+
+    private final Long studentId;
+    private final Long courseId;
+
+    public EnrollmentLink(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+}
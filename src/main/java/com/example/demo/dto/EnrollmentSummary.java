@@ -0,0 +1,55 @@
+package com.example.demo.dto;
+
+/**
+ * Whole-database enrollment totals
+ */
+public class EnrollmentSummary {
+
+    private long students;
+    private long studentsWithoutDepartment;
+    private long studentsWithoutCourses;
+    private long enrollments;
+
+    public EnrollmentSummary() {
+    }
+
+    public EnrollmentSummary(long students, long studentsWithoutDepartment,
+                             long studentsWithoutCourses, long enrollments) {
+        this.students = students;
+        this.studentsWithoutDepartment = studentsWithoutDepartment;
+        this.studentsWithoutCourses = studentsWithoutCourses;
+        this.enrollments = enrollments;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public void setStudents(long students) {
+        this.students = students;
+    }
+
+    public long getStudentsWithoutDepartment() {
+        return studentsWithoutDepartment;
+    }
+
+    public void setStudentsWithoutDepartment(long studentsWithoutDepartment) {
+        this.studentsWithoutDepartment = studentsWithoutDepartment;
+    }
+
+    public long getStudentsWithoutCourses() {
+        return studentsWithoutCourses;
+    }
+
+    public void setStudentsWithoutCourses(long studentsWithoutCourses) {
+        this.studentsWithoutCourses = studentsWithoutCourses;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+}
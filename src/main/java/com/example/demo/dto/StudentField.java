@@ -0,0 +1,55 @@
+package com.example.demo.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import com.example.demo.exception.BadRequestException;
+
+/**
+ * Fields that can be requested through the fields= selector of the student listing
+ */
+public enum StudentField {
+
+    ID("id"),
+    NAME("name"),
+    EMAIL("email"),
+    ADDRESS("address"),
+    PHONE("phone"),
+    DEPARTMENT_ID("departmentId"),
+    DEPARTMENT_NAME("departmentName"),
+    COURSES("courses");
+
+    private final String jsonName;
+
+    StudentField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parse a comma-separated fields= value. A blank value selects every field.
+     */
+    public static Set<StudentField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(StudentField.class);
+        }
+        Set<StudentField> selected = EnumSet.noneOf(StudentField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            StudentField field = Arrays.stream(values())
+                    .filter(f -> f.jsonName.toLowerCase(Locale.ROOT).equals(trimmed.toLowerCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown student field: " + trimmed));
+            selected.add(field);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One student record of a bulk import (CSV line or NDJSON object).
+ * department and courses may be given by ID or by name/title.
+ */
+public class StudentImportRow {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name is too long")
+    private String name;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 255, message = "Email is too long")
+    private String email;
+
+    @Size(max = 500, message = "Address must be at most 500 characters")
+    private String address;
+
+    @Size(max = 20, message = "Phone must be at most 20 characters")
+    private String phone;
+
+    private String department;
+    private List<String> courses = new ArrayList<>();
+
+    // Constructors
+    public StudentImportRow() {
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public List<String> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<String> courses) {
+        this.courses = courses;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+/**
+ * Flat read-only projection of a student row with its profile and department columns
+ */
+public interface StudentSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getAddress();
+
+    String getPhone();
+
+    Long getDepartmentId();
+
+    String getDepartmentName();
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+/**
+ * Versions of everything a student response renders. The student version
+ * changes when its own columns, department or course links change; the other
+ * versions cover profile edits and renamed departments or courses.
+ */
+public interface StudentVersionStamp {
+
+    Long getVersion();
+
+    Long getProfileVersion();
+
+    Long getDepartmentVersion();
+
+    Long getCourseVersionSum();
+}
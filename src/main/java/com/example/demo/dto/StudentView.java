@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-side shape of a student in REST responses. department is null for
+ * students without one; courses are ordered by id.
+ */
+public record StudentView(Long id, String name, String email, String address, String phone,
+                          DepartmentView department, List<CourseView> courses) {
+
+    /**
+     * Constructor expression target for one row of students joined with profile,
+     * department and (at most) one course; rows of the same student are merged
+     * by the caller.
+     */
+    public StudentView(Long id, String name, String email, String address, String phone,
+                       Long departmentId, String departmentName, Long courseId, String courseTitle) {
+        this(id, name, email, address, phone,
+                departmentId != null ? new DepartmentView(departmentId, departmentName) : null,
+                new ArrayList<>());
+        if (courseId != null) {
+            courses.add(new CourseView(courseId, courseTitle));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+/**
+ * Aggregate state of a versioned table, used as a collection ETag. Inserts
+ * and deletes change the row count and id sum (ids are never reused), and
+ * updates raise the version sum (versions only grow).
+ */
+public interface TableVersionStamp {
+
+    Long getRowCount();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+}
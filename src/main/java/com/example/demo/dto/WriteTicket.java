@@ -0,0 +1,60 @@
+package com.example.demo.dto;
+
+/**
+ * State of a queued student update. error is set only when status is FAILED.
+ */
+public class WriteTicket {
+
+    public enum Status {
+        PENDING,
+        APPLIED,
+        FAILED
+    }
+
+    private String ticketId;
+    private Long studentId;
+    private Status status;
+    private String error;
+
+    public WriteTicket() {
+    }
+
+    public WriteTicket(String ticketId, Long studentId, Status status, String error) {
+        this.ticketId = ticketId;
+        this.studentId = studentId;
+        this.status = status;
+        this.error = error;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -3,19 +3,33 @@ package com.example.demo.entity;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
+// Courses are read on every student form and rarely change, so they live in the second-level cache
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Table(name = "courses")
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_id_seq")
+    @SequenceGenerator(name = "course_id_seq", sequenceName = "courses_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    // Optimistic locking and ETags
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NotBlank(message = "Course title is required")
     @Column(nullable = false)
     private String title;
@@ -41,6 +55,10 @@ public class Course {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getTitle() {
         return title;
     }
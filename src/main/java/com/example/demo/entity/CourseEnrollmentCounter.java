@@ -0,0 +1,47 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Materialized number of students enrolled in a course, i.e. its student_course
+ * rows. Kept in a side table rather than on Course so that counter updates do
+ * not invalidate the cached Course entities. Updated in the same transaction
+ * as the enrollment change (see CourseEnrollmentCounterService).
+ */
+@Entity
+@Table(name = "course_enrollment_counts")
+public class CourseEnrollmentCounter {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "enrollment_count", nullable = false)
+    private long enrollmentCount;
+
+    // Constructors
+    public CourseEnrollmentCounter() {
+    }
+
+    public CourseEnrollmentCounter(Long courseId, long enrollmentCount) {
+        this.courseId = courseId;
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+}
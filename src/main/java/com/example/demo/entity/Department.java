@@ -3,19 +3,33 @@ package com.example.demo.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
+// Departments are read on every student form and rarely change, so they live in the second-level cache
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 @Table(name = "departments")
 public class Department {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_id_seq")
+    @SequenceGenerator(name = "department_id_seq", sequenceName = "departments_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    // Optimistic locking and ETags
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NotBlank(message = "Department name is required")
     @Column(nullable = false, unique = true)
     private String name;
@@ -41,6 +55,10 @@ public class Department {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,15 @@
+package com.example.demo.entity;
+
+/**
+ * Shared settings for entity ID generation.
+ * IDs come from pooled sequences (a table-backed sequence on MySQL), so
+ * Hibernate reserves a block of IDs per round trip and can batch inserts.
+ */
+public final class IdGeneration {
+
+    /** Number of IDs reserved per sequence call */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
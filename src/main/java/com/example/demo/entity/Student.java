@@ -3,6 +3,8 @@ package com.example.demo.entity;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.*;
@@ -11,12 +13,38 @@ import jakarta.validation.constraints.NotBlank;
 
 @Entity
 @Table(name = "students")
+@NamedEntityGraph(
+    name = Student.GRAPH_SUMMARY,
+    attributeNodes = {
+        @NamedAttributeNode("profile"),
+        @NamedAttributeNode("department")
+    }
+)
+@NamedEntityGraph(
+    name = Student.GRAPH_FULL,
+    attributeNodes = {
+        @NamedAttributeNode("profile"),
+        @NamedAttributeNode("department"),
+        @NamedAttributeNode("courses")
+    }
+)
 public class Student {
 
+    // Fetch plans: to-one associations only, or everything the list/detail views render
+    public static final String GRAPH_SUMMARY = "Student.summary";
+    public static final String GRAPH_FULL = "Student.full";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_id_seq")
+    @SequenceGenerator(name = "student_id_seq", sequenceName = "students_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    // Optimistic locking; bumped by Hibernate when name, email, department or course links change
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NotBlank(message = "Name is required")
     @Column(nullable = false)
     private String name;
@@ -66,6 +94,10 @@ public class Student {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -1,5 +1,7 @@
 package com.example.demo.entity;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import jakarta.persistence.*;
@@ -9,9 +11,16 @@ import jakarta.persistence.*;
 public class StudentProfile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_profile_id_seq")
+    @SequenceGenerator(name = "student_profile_id_seq", sequenceName = "student_profiles_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
+    // Address/phone edits do not touch the student row, so the profile carries its own version
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Column(length = 500)
     private String address;
 
@@ -40,6 +49,10 @@ public class StudentProfile {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getAddress() {
         return address;
     }
@@ -1,5 +1,9 @@
 package com.example.demo.entity;
 
+import com.example.demo.security.UserCacheEvictionListener;
+
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,10 +14,12 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_seq")
+    @SequenceGenerator(name = "user_id_seq", sequenceName = "users_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Username is required")
@@ -39,6 +45,12 @@ public class User {
     @Column(name = "enabled")
     private boolean enabled = true;
 
+    // Role changes bump the version, so they reach @PostUpdate listeners like any other change
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // Constructors
     public User() {
     }
@@ -98,6 +110,10 @@ public class User {
         this.enabled = enabled;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     // Helper methods
     public void addRole(String role) {
         this.roles.add(role);
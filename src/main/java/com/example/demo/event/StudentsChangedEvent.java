@@ -0,0 +1,20 @@
+package com.example.demo.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published when students were created or their indexed data changed
+ * (name, email, department, courses). Listeners should react after commit
+ * and re-read the students they care about.
+ */
+public record StudentsChangedEvent(Set<Long> studentIds) {
+
+    public StudentsChangedEvent {
+        studentIds = Set.copyOf(studentIds);
+    }
+
+    public StudentsChangedEvent(Collection<Long> studentIds) {
+        this(Set.copyOf(studentIds));
+    }
+}
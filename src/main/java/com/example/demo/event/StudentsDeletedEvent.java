@@ -0,0 +1,18 @@
+package com.example.demo.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published when students were deleted
+ */
+public record StudentsDeletedEvent(Set<Long> studentIds) {
+
+    public StudentsDeletedEvent {
+        studentIds = Set.copyOf(studentIds);
+    }
+
+    public StudentsDeletedEvent(Collection<Long> studentIds) {
+        this(Set.copyOf(studentIds));
+    }
+}
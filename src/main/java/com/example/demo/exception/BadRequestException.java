@@ -0,0 +1,16 @@
+package com.example.demo.exception;
+
+/**
+ * A request the client has to change before it can succeed: a malformed
+ * parameter or a batch over its size limit. The message is returned to the client.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.entity.CourseEnrollmentCounter;
+
+import jakarta.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseEnrollmentCounterRepository extends JpaRepository<CourseEnrollmentCounter, Long> {
+
+    /**
+     * Atomically add delta to the given courses' counters; returns the number of counters updated
+     */
+    @Modifying
+    @Query("UPDATE CourseEnrollmentCounter c SET c.enrollmentCount = c.enrollmentCount + :delta " +
+           "WHERE c.courseId IN :courseIds")
+    int addToCounts(@Param("courseIds") Collection<Long> courseIds, @Param("delta") long delta);
+
+    /**
+     * All counters, locked against concurrent enrollment changes until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CourseEnrollmentCounter c ORDER BY c.courseId")
+    List<CourseEnrollmentCounter> findAllForUpdate();
+
+    /**
+     * Counter value of every course, ordered by title
+     */
+    @Query("SELECT c.id AS courseId, c.title AS title, COALESCE(n.enrollmentCount, 0) AS enrollmentCount " +
+           "FROM Course c LEFT JOIN CourseEnrollmentCounter n ON n.courseId = c.id " +
+           "ORDER BY c.title, c.id")
+    List<CourseEnrollmentCount> findAllCounts();
+}
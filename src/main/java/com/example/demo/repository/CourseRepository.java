@@ -1,14 +1,57 @@
 package com.example.demo.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.dto.CourseView;
+import com.example.demo.dto.TableVersionStamp;
 import com.example.demo.entity.Course;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
-    
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
+
+    // Results are served from the query cache until a courses row changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Course> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Course> findByTitle(String title);
+
+    // REST read models: two columns per row, no entity instances or proxies
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.example.demo.dto.CourseView(c.id, c.title) FROM Course c ORDER BY c.id")
+    List<CourseView> findAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.example.demo.dto.CourseView(c.id, c.title) FROM Course c WHERE c.id = :id")
+    Optional<CourseView> findViewById(@Param("id") Long id);
+
+    // ETag sources; cached like the lists they describe
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(c) AS rowCount, COALESCE(SUM(c.id), 0) AS idSum, " +
+           "COALESCE(SUM(c.version), 0) AS versionSum FROM Course c")
+    TableVersionStamp findVersionStamp();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c.version FROM Course c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Enrollment count per course, including empty courses, ordered by title
+     */
+    @Query("SELECT c.id AS courseId, c.title AS title, COUNT(s.id) AS enrollmentCount " +
+           "FROM Course c LEFT JOIN c.students s " +
+           "GROUP BY c.id, c.title ORDER BY c.title, c.id")
+    List<CourseEnrollmentCount> countEnrollmentsByCourse();
 }
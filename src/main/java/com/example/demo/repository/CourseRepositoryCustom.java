@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.example.demo.entity.Course;
+
+public interface CourseRepositoryCustom {
+
+    /**
+     * Load courses by ID, taking cached entities from the second-level cache
+     * and fetching only the misses in one query. IDs that do not exist are
+     * left out of the result.
+     */
+    List<Course> loadAllById(Collection<Long> ids);
+}
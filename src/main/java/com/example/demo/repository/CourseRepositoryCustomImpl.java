@@ -0,0 +1,36 @@
+package com.example.demo.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import com.example.demo.entity.Course;
+
+import jakarta.persistence.EntityManager;
+
+class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    CourseRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Course> loadAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Unlike findAllById (a plain IN query), multiLoad checks the cache first;
+        // it only does so when the cache mode is set explicitly
+        List<Course> courses = entityManager.unwrap(Session.class)
+                .byMultipleIds(Course.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(new ArrayList<>(ids));
+        return courses.stream().filter(Objects::nonNull).toList();
+    }
+}
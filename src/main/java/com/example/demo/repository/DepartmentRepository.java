@@ -1,14 +1,48 @@
 package com.example.demo.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.DepartmentView;
+import com.example.demo.dto.TableVersionStamp;
 import com.example.demo.entity.Department;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-    
+
+    // Results are served from the query cache until a departments row changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByName(String name);
+
+    // REST read models: two columns per row, no entity instances or proxies
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.example.demo.dto.DepartmentView(d.id, d.name) FROM Department d ORDER BY d.id")
+    List<DepartmentView> findAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.example.demo.dto.DepartmentView(d.id, d.name) FROM Department d WHERE d.id = :id")
+    Optional<DepartmentView> findViewById(@Param("id") Long id);
+
+    // ETag sources; cached like the lists they describe
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(d) AS rowCount, COALESCE(SUM(d.id), 0) AS idSum, " +
+           "COALESCE(SUM(d.version), 0) AS versionSum FROM Department d")
+    TableVersionStamp findVersionStamp();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT d.version FROM Department d WHERE d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
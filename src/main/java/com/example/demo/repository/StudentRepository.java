@@ -1,11 +1,33 @@
 package com.example.demo.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.dto.DepartmentStudentCount;
+import com.example.demo.dto.EnrollmentLink;
+import com.example.demo.dto.StudentCourseSummary;
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.dto.StudentVersionStamp;
+import com.example.demo.dto.StudentView;
+import com.example.demo.entity.Department;
 import com.example.demo.entity.Student;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -13,4 +35,190 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    @EntityGraph(Student.GRAPH_SUMMARY)
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    List<Student> findAllWithSummaryGraph();
+
+    @EntityGraph(Student.GRAPH_FULL)
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    List<Student> findAllWithFullGraph();
+
+    @EntityGraph(Student.GRAPH_FULL)
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids")
+    List<Student> findAllWithFullGraphByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Student.GRAPH_SUMMARY)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> findWithSummaryGraphById(@Param("id") Long id);
+
+    @EntityGraph(Student.GRAPH_FULL)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> findWithFullGraphById(@Param("id") Long id);
+
+    /**
+     * The student for a conditional update: the transaction fails at commit if
+     * another one changed the student's version in the meantime
+     */
+    @EntityGraph(Student.GRAPH_FULL)
+    @Lock(LockModeType.OPTIMISTIC)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> findWithFullGraphForUpdateById(@Param("id") Long id);
+
+    /**
+     * Versions behind the student's ETag, without loading the student
+     */
+    @Query("SELECT s.version AS version, p.version AS profileVersion, d.version AS departmentVersion, " +
+           "SUM(c.version) AS courseVersionSum " +
+           "FROM Student s LEFT JOIN s.profile p LEFT JOIN s.department d LEFT JOIN s.courses c " +
+           "WHERE s.id = :id GROUP BY s.version, p.version, d.version")
+    Optional<StudentVersionStamp> findVersionStampById(@Param("id") Long id);
+
+    /**
+     * Forward-only stream of students with id greater than afterId, ordered by
+     * id, with profile, department and courses fetched in the same query.
+     * Entities are read-only; callers must close the stream inside a transaction.
+     */
+    @EntityGraph(Student.GRAPH_FULL)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    Stream<Student> streamWithFullGraphAfter(@Param("afterId") Long afterId);
+
+    /**
+     * Keyset page of student rows with id greater than afterId, ordered by id
+     */
+    @Query("SELECT s.id AS id, s.name AS name, s.email AS email, " +
+           "p.address AS address, p.phone AS phone, " +
+           "d.id AS departmentId, d.name AS departmentName " +
+           "FROM Student s LEFT JOIN s.profile p LEFT JOIN s.department d " +
+           "WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Student rows for the given ids, in no particular order
+     */
+    @Query("SELECT s.id AS id, s.name AS name, s.email AS email, " +
+           "p.address AS address, p.phone AS phone, " +
+           "d.id AS departmentId, d.name AS departmentName " +
+           "FROM Student s LEFT JOIN s.profile p LEFT JOIN s.department d " +
+           "WHERE s.id IN :ids")
+    List<StudentSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * REST read model rows for the given ids: one per enrolled course (or one
+     * with a null course), ordered by student then course
+     */
+    @Query("SELECT new com.example.demo.dto.StudentView(s.id, s.name, s.email, p.address, p.phone, " +
+           "d.id, d.name, c.id, c.title) " +
+           "FROM Student s LEFT JOIN s.profile p LEFT JOIN s.department d LEFT JOIN s.courses c " +
+           "WHERE s.id IN :ids ORDER BY s.id, c.id")
+    List<StudentView> findViewRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Student s WHERE s.department.id = :departmentId")
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("SELECT s.id FROM Student s JOIN s.courses c WHERE c.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Student s JOIN s.profile p WHERE s.id IN :ids")
+    List<Long> findProfileIdsByStudentIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete the given students in one statement. Hibernate deletes their
+     * student_course rows first and evicts the students from the caches;
+     * profiles are left to deleteProfilesByIdIn. The persistence context is
+     * flushed before and cleared after.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Student s WHERE s.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete profiles whose students are already gone
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentProfile p WHERE p.id IN :ids")
+    int deleteProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move the given students to another department in one statement,
+     * bumping their versions so ETags and optimistic locks see the change
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.department = :department, s.version = s.version + 1 WHERE s.id IN :ids")
+    int moveToDepartment(@Param("ids") Collection<Long> ids, @Param("department") Department department);
+
+    /**
+     * Course links for the given students, ordered by student then course
+     */
+    @Query("SELECT new com.example.demo.dto.StudentCourseSummary(s.id, c.id, c.title) " +
+           "FROM Student s JOIN s.courses c " +
+           "WHERE s.id IN :studentIds ORDER BY s.id, c.id")
+    List<StudentCourseSummary> findCourseSummaries(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Keyset page of student_course rows after (afterStudentId, afterCourseId),
+     * ordered by student then course
+     */
+    @Query("SELECT new com.example.demo.dto.EnrollmentLink(s.id, c.id) " +
+           "FROM Student s JOIN s.courses c " +
+           "WHERE s.id > :afterStudentId OR (s.id = :afterStudentId AND c.id > :afterCourseId) " +
+           "ORDER BY s.id, c.id")
+    List<EnrollmentLink> findEnrollmentLinksAfter(@Param("afterStudentId") Long afterStudentId,
+                                                  @Param("afterCourseId") Long afterCourseId,
+                                                  Limit limit);
+
+    /**
+     * student_course rows of the given students, ordered by student then course
+     */
+    @Query("SELECT new com.example.demo.dto.EnrollmentLink(s.id, c.id) " +
+           "FROM Student s JOIN s.courses c " +
+           "WHERE s.id IN :studentIds ORDER BY s.id, c.id")
+    List<EnrollmentLink> findEnrollmentLinks(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Student count per department, including empty departments, ordered by name
+     */
+    @Query("SELECT d.id AS departmentId, d.name AS departmentName, COUNT(s.id) AS studentCount " +
+           "FROM Department d LEFT JOIN d.students s " +
+           "GROUP BY d.id, d.name ORDER BY d.name, d.id")
+    List<DepartmentStudentCount> countByDepartment();
+
+    /**
+     * Enrollment count per course, counting only the given students
+     */
+    @Query("SELECT c.id AS courseId, c.title AS title, COUNT(s.id) AS enrollmentCount " +
+           "FROM Student s JOIN s.courses c WHERE s.id IN :ids " +
+           "GROUP BY c.id, c.title")
+    List<CourseEnrollmentCount> countEnrollmentsByCourseForStudents(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.department IS NULL")
+    long countWithoutDepartment();
+
+    @Query("SELECT COUNT(s) FROM Student s WHERE s.courses IS EMPTY")
+    long countWithoutCourses();
+
+    /**
+     * Number of student_course rows
+     */
+    @Query("SELECT COUNT(c) FROM Student s JOIN s.courses c")
+    long countEnrollments();
+
+    /**
+     * Keyset page of students enrolled in no course, ordered by id
+     */
+    @Query("SELECT s.id AS id, s.name AS name, s.email AS email, " +
+           "p.address AS address, p.phone AS phone, " +
+           "d.id AS departmentId, d.name AS departmentName " +
+           "FROM Student s LEFT JOIN s.profile p LEFT JOIN s.department d " +
+           "WHERE s.courses IS EMPTY AND s.id > :afterId ORDER BY s.id")
+    List<StudentSummary> findSummariesWithoutCoursesAfter(@Param("afterId") Long afterId, Limit limit);
 }
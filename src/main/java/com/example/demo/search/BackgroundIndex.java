@@ -0,0 +1,110 @@
+package com.example.demo.search;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * An in-memory structure derived from the database and maintained in the
+ * background.
+ *
+ * The structure is built once the application is ready. All writes, including
+ * later rebuilds, run as tasks on one updater thread in submit order, so
+ * subclasses can apply change events without ordering them themselves.
+ * Readers take a read lock and see either the old or the rebuilt structure,
+ * never one in progress.
+ *
+ * @param <T> the structure kept; not thread-safe itself
+ */
+public abstract class BackgroundIndex<T> implements DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+    private final ExecutorService updater;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; replaced wholesale by rebuild()
+    private T current;
+    private volatile boolean ready;
+
+    protected BackgroundIndex(String name, String threadNamePrefix, T empty) {
+        this.name = name;
+        this.updater = Executors.newSingleThreadExecutor(new CustomizableThreadFactory(threadNamePrefix));
+        this.current = empty;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        submit(this::rebuild);
+    }
+
+    /**
+     * False until the initial build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Read the whole structure into a fresh instance. Runs on the updater
+     * thread, outside the lock.
+     */
+    protected abstract T build();
+
+    /**
+     * Build a fresh structure and swap it in
+     */
+    void rebuild() {
+        T rebuilt = build();
+        write(structure -> current = rebuilt);
+        ready = true;
+    }
+
+    protected <R> R read(Function<T, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    protected void write(Consumer<T> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Queue a task on the updater thread; a failing task is logged and does
+     * not stop later ones
+     */
+    protected void submit(Runnable task) {
+        updater.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("{} update failed", name, e);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        updater.shutdownNow();
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.example.demo.util.LongIntHashMap;
+
+/**
+ * In-memory enrollment graph: the courses of each student, the students of
+ * each course, and how many students take each pair of courses. Not
+ * thread-safe; EnrollmentGraphIndex guards it with a read/write lock.
+ *
+ * Students and courses get dense numbers when first seen, and adjacency is
+ * stored as sorted int arrays of those numbers rather than sets of boxed ids.
+ * Numbers of removed students are reused. Pair counts are updated with every
+ * change, so the most common pairs are a scan of one primitive map instead
+ * of a self-join over student_course.
+ */
+public final class EnrollmentGraph {
+
+    private static final int NONE = -1;
+
+    public record CoEnrollment(long studentId, int sharedCourses) {
+
+        // Most shared courses first, then lower id
+        static final Comparator<CoEnrollment> BEST_FIRST = Comparator.comparingInt(CoEnrollment::sharedCourses)
+                .reversed()
+                .thenComparingLong(CoEnrollment::studentId);
+    }
+
+    public record Pair(long firstCourseId, long secondCourseId, int students) {
+
+        // Most students first, then lower course ids
+        static final Comparator<Pair> BEST_FIRST = Comparator.comparingInt(Pair::students)
+                .reversed()
+                .thenComparingLong(Pair::firstCourseId)
+                .thenComparingLong(Pair::secondCourseId);
+    }
+
+    // Students, by slot
+    private final LongIntHashMap slotByStudentId = new LongIntHashMap(1024, NONE);
+    private long[] slotStudentIds = new long[1024];
+    private int[][] slotCourses = new int[1024][];
+    private int slotCount;
+    private final IntList freeSlots = new IntList();
+
+    // Courses, by number; student slots of a course are kept sorted
+    private final LongIntHashMap numberByCourseId = new LongIntHashMap(64, NONE);
+    private long[] courseIds = new long[64];
+    private IntList[] courseStudents = new IntList[64];
+    private int courseCount;
+
+    // (lower course number << 32 | higher course number) -> students taking both; never holds 0
+    private final LongIntHashMap pairCounts = new LongIntHashMap(1024, 0);
+
+    /**
+     * Replace the courses of a student; no courses removes the student
+     */
+    public void put(long studentId, long[] courseIdsOfStudent) {
+        remove(studentId);
+        if (courseIdsOfStudent.length == 0) {
+            return;
+        }
+
+        int[] courses = new int[courseIdsOfStudent.length];
+        for (int i = 0; i < courses.length; i++) {
+            courses[i] = courseNumber(courseIdsOfStudent[i]);
+        }
+        Arrays.sort(courses);
+        courses = distinct(courses);
+
+        int slot = freeSlots.size > 0 ? freeSlots.removeLast() : newSlot();
+        slotStudentIds[slot] = studentId;
+        slotCourses[slot] = courses;
+        slotByStudentId.put(studentId, slot);
+        for (int course : courses) {
+            courseStudents[course].insertSorted(slot);
+        }
+        for (int i = 0; i < courses.length; i++) {
+            for (int j = i + 1; j < courses.length; j++) {
+                long key = pairKey(courses[i], courses[j]);
+                pairCounts.put(key, pairCounts.get(key) + 1);
+            }
+        }
+    }
+
+    public boolean remove(long studentId) {
+        int slot = slotByStudentId.remove(studentId);
+        if (slot == NONE) {
+            return false;
+        }
+        int[] courses = slotCourses[slot];
+        for (int course : courses) {
+            courseStudents[course].removeSorted(slot);
+        }
+        for (int i = 0; i < courses.length; i++) {
+            for (int j = i + 1; j < courses.length; j++) {
+                long key = pairKey(courses[i], courses[j]);
+                int remaining = pairCounts.get(key) - 1;
+                if (remaining == 0) {
+                    pairCounts.remove(key);
+                } else {
+                    pairCounts.put(key, remaining);
+                }
+            }
+        }
+        slotCourses[slot] = null;
+        freeSlots.add(slot);
+        return true;
+    }
+
+    /**
+     * Number of students with at least one course
+     */
+    public int size() {
+        return slotByStudentId.size();
+    }
+
+    /**
+     * Students sharing at least minShared courses with the given student, most
+     * shared courses first, then by id. Empty if the student has no courses.
+     */
+    public List<CoEnrollment> coEnrolled(long studentId, int minShared, int limit) {
+        int slot = slotByStudentId.get(studentId);
+        if (slot == NONE || limit <= 0) {
+            return List.of();
+        }
+
+        // Walk the students of each of the student's courses, counting shared courses per slot.
+        // Sized by the students reached, not the whole graph; queries run concurrently under the read lock
+        int reached = 0;
+        for (int course : slotCourses[slot]) {
+            reached += courseStudents[course].size;
+        }
+        LongIntHashMap shared = new LongIntHashMap(reached, 0);
+        for (int course : slotCourses[slot]) {
+            IntList students = courseStudents[course];
+            for (int i = 0; i < students.size; i++) {
+                int other = students.values[i];
+                if (other != slot) {
+                    shared.put(other, shared.get(other) + 1);
+                }
+            }
+        }
+
+        PriorityQueue<CoEnrollment> top = new PriorityQueue<>(limit + 1, CoEnrollment.BEST_FIRST.reversed());
+        shared.forEach((other, count) -> {
+            if (count < minShared) {
+                return;
+            }
+            CoEnrollment candidate = new CoEnrollment(slotStudentIds[(int) other], count);
+            if (top.size() < limit) {
+                top.add(candidate);
+            } else if (CoEnrollment.BEST_FIRST.compare(candidate, top.peek()) < 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        });
+        List<CoEnrollment> result = new ArrayList<>(top);
+        result.sort(CoEnrollment.BEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Course pairs taken together by the most students, most first, then by
+     * course ids. Within a pair the lower course id comes first.
+     */
+    public List<Pair> topPairs(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Pair> top = new PriorityQueue<>(limit + 1, Pair.BEST_FIRST.reversed());
+        pairCounts.forEach((key, students) -> {
+            if (top.size() == limit && students < top.peek().students()) {
+                return;
+            }
+            long a = courseIds[(int) (key >>> 32)];
+            long b = courseIds[(int) key];
+            Pair candidate = new Pair(Math.min(a, b), Math.max(a, b), students);
+            if (top.size() < limit) {
+                top.add(candidate);
+            } else if (Pair.BEST_FIRST.compare(candidate, top.peek()) < 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        });
+        List<Pair> result = new ArrayList<>(top);
+        result.sort(Pair.BEST_FIRST);
+        return result;
+    }
+
+    private int newSlot() {
+        int slot = slotCount++;
+        if (slot == slotStudentIds.length) {
+            slotStudentIds = Arrays.copyOf(slotStudentIds, slot * 2);
+            slotCourses = Arrays.copyOf(slotCourses, slot * 2);
+        }
+        return slot;
+    }
+
+    private int courseNumber(long courseId) {
+        int existing = numberByCourseId.get(courseId);
+        if (existing != NONE) {
+            return existing;
+        }
+        int number = courseCount++;
+        if (number == courseIds.length) {
+            courseIds = Arrays.copyOf(courseIds, number * 2);
+            courseStudents = Arrays.copyOf(courseStudents, number * 2);
+        }
+        courseIds[number] = courseId;
+        courseStudents[number] = new IntList();
+        numberByCourseId.put(courseId, number);
+        return number;
+    }
+
+    // Callers pass lower < higher
+    private static long pairKey(int lower, int higher) {
+        return ((long) lower << 32) | higher;
+    }
+
+    private static int[] distinct(int[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        void insertSorted(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            add(value);
+            System.arraycopy(values, index, values, index + 1, size - 1 - index);
+            values[index] = value;
+        }
+
+        void removeSorted(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - 1 - index);
+                size--;
+            }
+        }
+    }
+}
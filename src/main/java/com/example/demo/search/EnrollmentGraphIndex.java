@@ -0,0 +1,151 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.dto.EnrollmentLink;
+import com.example.demo.event.StudentsChangedEvent;
+import com.example.demo.event.StudentsDeletedEvent;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * The enrollment graph behind co-enrollment queries, built from student_course.
+ *
+ * Kept current the same way as StudentSearchIndex: the students named by
+ * StudentsChangedEvent and StudentsDeletedEvent have their course links
+ * re-read after commit, on the updater thread in publish order. Queries never
+ * touch the database.
+ */
+@Component
+public class EnrollmentGraphIndex extends BackgroundIndex<EnrollmentGraph> {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentGraphIndex.class);
+
+    private final StudentRepository studentRepository;
+    private final int batchSize;
+
+    public EnrollmentGraphIndex(StudentRepository studentRepository,
+                                @Value("${app.enrollment-graph.batch-size:5000}") int batchSize) {
+        super("Enrollment graph", "enrollment-graph-updater-", new EnrollmentGraph());
+        this.studentRepository = studentRepository;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        if (!event.studentIds().isEmpty()) {
+            submit(() -> reload(event.studentIds()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsDeleted(StudentsDeletedEvent event) {
+        if (!event.studentIds().isEmpty()) {
+            submit(() -> remove(event.studentIds()));
+        }
+    }
+
+    public List<EnrollmentGraph.CoEnrollment> coEnrolled(long studentId, int minShared, int limit) {
+        return read(graph -> graph.coEnrolled(studentId, minShared, limit));
+    }
+
+    public List<EnrollmentGraph.Pair> topPairs(int limit) {
+        return read(graph -> graph.topPairs(limit));
+    }
+
+    /**
+     * Re-read every enrollment into a fresh graph
+     */
+    @Override
+    protected EnrollmentGraph build() {
+        long started = System.nanoTime();
+        EnrollmentGraph rebuilt = new EnrollmentGraph();
+        StudentLinks pending = new StudentLinks();
+        long links = 0;
+        long afterStudentId = 0L;
+        long afterCourseId = 0L;
+        List<EnrollmentLink> rows;
+        do {
+            rows = studentRepository.findEnrollmentLinksAfter(afterStudentId, afterCourseId, Limit.of(batchSize));
+            // A student's links may span pages, so the last one stays pending
+            for (EnrollmentLink row : rows) {
+                pending.add(rebuilt, row);
+            }
+            if (!rows.isEmpty()) {
+                EnrollmentLink last = rows.get(rows.size() - 1);
+                afterStudentId = last.getStudentId();
+                afterCourseId = last.getCourseId();
+                links += rows.size();
+            }
+        } while (rows.size() == batchSize);
+        pending.flush(rebuilt);
+
+        log.info("Enrollment graph built: {} students, {} enrollments in {} ms",
+                rebuilt.size(), links, (System.nanoTime() - started) / 1_000_000);
+        return rebuilt;
+    }
+
+    private void reload(Set<Long> studentIds) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            List<EnrollmentLink> rows = studentRepository.findEnrollmentLinks(batch);
+
+            // Students without links (no courses left, or deleted again before this ran) drop out
+            Set<Long> withoutCourses = new HashSet<>(batch);
+            rows.forEach(row -> withoutCourses.remove(row.getStudentId()));
+
+            write(graph -> {
+                StudentLinks pending = new StudentLinks();
+                for (EnrollmentLink row : rows) {
+                    pending.add(graph, row);
+                }
+                pending.flush(graph);
+                withoutCourses.forEach(graph::remove);
+            });
+        }
+    }
+
+    private void remove(Set<Long> studentIds) {
+        write(graph -> studentIds.forEach(graph::remove));
+    }
+
+    /**
+     * Collects the course ids of consecutive links of one student, and puts
+     * them into the graph once the next student's links begin
+     */
+    private static final class StudentLinks {
+
+        private long studentId;
+        private long[] courseIds = new long[16];
+        private int count;
+
+        void add(EnrollmentGraph target, EnrollmentLink link) {
+            if (count > 0 && link.getStudentId() != studentId) {
+                flush(target);
+            }
+            studentId = link.getStudentId();
+            if (count == courseIds.length) {
+                courseIds = Arrays.copyOf(courseIds, count * 2);
+            }
+            courseIds[count++] = link.getCourseId();
+        }
+
+        void flush(EnrollmentGraph target) {
+            if (count > 0) {
+                target.put(studentId, Arrays.copyOf(courseIds, count));
+                count = 0;
+            }
+        }
+    }
+}
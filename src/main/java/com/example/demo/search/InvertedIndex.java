@@ -0,0 +1,425 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import com.example.demo.util.LongIntHashMap;
+
+/**
+ * In-memory inverted index from normalized terms to students. Not thread-safe;
+ * StudentSearchIndex guards it with a read/write lock.
+ *
+ * Every query token must match a term of the student (AND). A token matches
+ * a term exactly (score 3), as a prefix (2), or within one edit (1: insert,
+ * delete, substitute or swap two adjacent letters). A hit's score is the sum
+ * of its best match per token.
+ *
+ * Documents are append-only. Re-indexing a student gives it a new document
+ * and marks the old one deleted, so updates never rewrite posting lists.
+ * needsCompaction() reports when deleted documents should be dropped by a rebuild.
+ * Fuzzy matching uses a symmetric-deletion index: every alphabetic term of
+ * MIN_FUZZY_LENGTH or more letters is also stored under each single-character
+ * deletion of itself.
+ */
+public final class InvertedIndex {
+
+    static final int EXACT_SCORE = 3;
+    static final int PREFIX_SCORE = 2;
+    static final int FUZZY_SCORE = 1;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MIN_COMPACTION_DELETES = 10_000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    public record Hit(long studentId, int score) {
+    }
+
+    // Term dictionary; sorted so prefixes are a range scan
+    private final TreeMap<String, Integer> termIds = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final Map<String, IntList> deletionVariants = new HashMap<>();
+
+    // Documents, numbered in insertion order
+    private long[] docStudentIds = new long[1024];
+    private int[][] docTerms = new int[1024][];
+    private int docCount;
+    private final BitSet deletedDocs = new BitSet();
+    private int deletedCount;
+    private final LongIntHashMap docByStudentId = new LongIntHashMap(1024, -1);
+
+    /**
+     * Index (or re-index) a student from its searchable texts
+     */
+    public void put(long studentId, List<String> texts) {
+        remove(studentId);
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            tokens.addAll(tokenize(text));
+        }
+        int[] termsOfDoc = new int[tokens.size()];
+        int i = 0;
+        for (String token : tokens) {
+            termsOfDoc[i++] = termId(token);
+        }
+        Arrays.sort(termsOfDoc);
+
+        int doc = docCount++;
+        if (doc == docStudentIds.length) {
+            docStudentIds = Arrays.copyOf(docStudentIds, doc * 2);
+            docTerms = Arrays.copyOf(docTerms, doc * 2);
+        }
+        docStudentIds[doc] = studentId;
+        docTerms[doc] = termsOfDoc;
+        for (int term : termsOfDoc) {
+            postings.get(term).add(doc);
+        }
+        docByStudentId.put(studentId, doc);
+    }
+
+    public boolean remove(long studentId) {
+        int doc = docByStudentId.remove(studentId);
+        if (doc < 0) {
+            return false;
+        }
+        deletedDocs.set(doc);
+        docTerms[doc] = null;
+        deletedCount++;
+        return true;
+    }
+
+    /**
+     * Number of indexed students
+     */
+    public int size() {
+        return docByStudentId.size();
+    }
+
+    public boolean needsCompaction() {
+        return deletedCount > Math.max(MIN_COMPACTION_DELETES, size());
+    }
+
+    /**
+     * Best-scoring students for the query, highest score first. Equal scores
+     * keep index order, which follows student id except for re-indexed students.
+     *
+     * Candidates come from the most selective token, tier by tier (its exact
+     * terms, then prefixes, then typos). Scanning stops as soon as the top
+     * hits already score at least what any remaining candidate could reach,
+     * so common words cost about as much as rare ones.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Resolve each token to the terms it matches, and lead with the most selective one
+        List<TermMatches> matches = new ArrayList<>(tokens.size());
+        TermMatches lead = null;
+        int maxTotal = 0;
+        for (String token : tokens) {
+            TermMatches tokenMatches = match(token);
+            if (tokenMatches.isEmpty()) {
+                return List.of();
+            }
+            matches.add(tokenMatches);
+            maxTotal += tokenMatches.maxScore;
+            if (lead == null || tokenMatches.postingCount < lead.postingCount) {
+                lead = tokenMatches;
+            }
+        }
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, Candidate.WORST_FIRST);
+        BitSet seen = lead.termIds.length > 1 ? new BitSet(docCount) : null;
+        int order = 0;
+
+        for (int tier = EXACT_SCORE; tier >= FUZZY_SCORE; tier--) {
+            // No document first reached in this tier can beat the current top hits
+            int bound = maxTotal - lead.maxScore + tier;
+            if (top.size() == limit && top.peek().score() >= bound) {
+                break;
+            }
+            for (int i = 0; i < lead.termIds.length; i++) {
+                if (lead.scores[i] != tier) {
+                    continue;
+                }
+                IntList docs = postings.get(lead.termIds[i]);
+                for (int p = 0; p < docs.size; p++) {
+                    int doc = docs.values[p];
+                    if (deletedDocs.get(doc)) {
+                        continue;
+                    }
+                    if (seen != null) {
+                        if (seen.get(doc)) {
+                            continue;
+                        }
+                        seen.set(doc);
+                    }
+                    int score = score(docTerms[doc], matches);
+                    if (score > 0) {
+                        top.add(new Candidate(doc, score, order++));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                        if (top.size() == limit && top.peek().score() >= bound) {
+                            break;
+                        }
+                    }
+                }
+                if (top.size() == limit && top.peek().score() >= bound) {
+                    break;
+                }
+            }
+        }
+
+        Candidate[] best = top.toArray(new Candidate[0]);
+        Arrays.sort(best, Candidate.WORST_FIRST.reversed());
+        List<Hit> hits = new ArrayList<>(best.length);
+        for (Candidate candidate : best) {
+            hits.add(new Hit(docStudentIds[candidate.doc()], candidate.score()));
+        }
+        return hits;
+    }
+
+    // Sum of the best match per token, or 0 if any token is unmatched
+    private static int score(int[] termsOfDoc, List<TermMatches> matches) {
+        int total = 0;
+        for (TermMatches tokenMatches : matches) {
+            int best = 0;
+            for (int term : termsOfDoc) {
+                best = Math.max(best, tokenMatches.scoreOf(term));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private TermMatches match(String token) {
+        Map<Integer, Integer> scores = new HashMap<>();
+
+        Integer exact = termIds.get(token);
+        if (exact != null) {
+            scores.put(exact, EXACT_SCORE);
+        }
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            NavigableMap<String, Integer> range = termIds.subMap(token, false, token + Character.MAX_VALUE, false);
+            int expansions = 0;
+            for (Integer term : range.values()) {
+                if (expansions++ == MAX_EXPANSIONS) {
+                    break;
+                }
+                scores.putIfAbsent(term, PREFIX_SCORE);
+            }
+        }
+
+        if (isFuzzyCandidate(token)) {
+            // Terms one deletion away from the token, the token one deletion away
+            // from terms, and terms sharing a deletion (substitution/transposition)
+            List<String> variants = deletions(token);
+            for (String variant : variants) {
+                Integer shorter = termIds.get(variant);
+                if (shorter != null) {
+                    scores.putIfAbsent(shorter, FUZZY_SCORE);
+                }
+            }
+            addFuzzy(scores, token, deletionVariants.get(token));
+            for (String variant : variants) {
+                addFuzzy(scores, token, deletionVariants.get(variant));
+            }
+        }
+
+        return new TermMatches(scores, postings);
+    }
+
+    private void addFuzzy(Map<Integer, Integer> scores, String token, IntList candidates) {
+        if (candidates == null) {
+            return;
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            int term = candidates.values[i];
+            if (!scores.containsKey(term) && withinOneEdit(token, terms.get(term))) {
+                scores.put(term, FUZZY_SCORE);
+            }
+        }
+    }
+
+    private int termId(String token) {
+        Integer existing = termIds.get(token);
+        if (existing != null) {
+            return existing;
+        }
+        int id = terms.size();
+        termIds.put(token, id);
+        terms.add(token);
+        postings.add(new IntList());
+        if (isFuzzyCandidate(token)) {
+            for (String variant : deletions(token)) {
+                deletionVariants.computeIfAbsent(variant, k -> new IntList()).addIfLast(id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Lower-cased, accent-free letter/digit runs of the text
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isFuzzyCandidate(String token) {
+        if (token.length() < MIN_FUZZY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isLetter(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> deletions(String token) {
+        List<String> variants = new ArrayList<>(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            if (i > 0 && token.charAt(i) == token.charAt(i - 1)) {
+                continue; // same variant as deleting the previous character
+            }
+            variants.add(token.substring(0, i) + token.substring(i + 1));
+        }
+        return variants;
+    }
+
+    // Optimal string alignment distance <= 1
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        int i = 0;
+        int limit = Math.min(a.length(), b.length());
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == limit) {
+            return true;
+        }
+        if (lengthDifference > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDifference < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1)
+                && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    /**
+     * Terms matched by one query token, sorted by term id for binary search
+     */
+    private static final class TermMatches {
+
+        private final int[] termIds;
+        private final int[] scores;
+        private final int maxScore;
+        private final long postingCount;
+
+        TermMatches(Map<Integer, Integer> matches, List<IntList> postings) {
+            this.termIds = matches.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            this.scores = new int[termIds.length];
+            int max = 0;
+            long count = 0;
+            for (int i = 0; i < termIds.length; i++) {
+                scores[i] = matches.get(termIds[i]);
+                max = Math.max(max, scores[i]);
+                count += postings.get(termIds[i]).size;
+            }
+            this.maxScore = max;
+            this.postingCount = count;
+        }
+
+        boolean isEmpty() {
+            return termIds.length == 0;
+        }
+
+        int scoreOf(int term) {
+            int index = Arrays.binarySearch(termIds, term);
+            return index >= 0 ? scores[index] : 0;
+        }
+    }
+
+    private record Candidate(int doc, int score, int order) {
+
+        // Lower score first; among equal scores, the later find first
+        static final Comparator<Candidate> WORST_FIRST = Comparator.comparingInt(Candidate::score)
+                .thenComparing(Comparator.comparingInt(Candidate::order).reversed());
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Deletion variants of one term can repeat (e.g. "abab"), and ids only grow
+        void addIfLast(int value) {
+            if (size == 0 || values[size - 1] != value) {
+                add(value);
+            }
+        }
+    }
+}
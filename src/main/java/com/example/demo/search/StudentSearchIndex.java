@@ -0,0 +1,143 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.dto.StudentCourseSummary;
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.event.StudentsChangedEvent;
+import com.example.demo.event.StudentsDeletedEvent;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * Full-text index over student name, email, department name and course titles.
+ *
+ * The index is built in the background once the application is ready. After
+ * that it is kept current from StudentsChangedEvent and StudentsDeletedEvent,
+ * which are applied after the publishing transaction commits, on the indexer
+ * thread in publish order; searches never touch the database. Results are
+ * eventually consistent: a write is searchable once its event has been
+ * applied, usually within milliseconds.
+ */
+@Component
+public class StudentSearchIndex extends BackgroundIndex<InvertedIndex> {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    private final StudentRepository studentRepository;
+    private final int batchSize;
+
+    public StudentSearchIndex(StudentRepository studentRepository,
+                              @Value("${app.search.batch-size:1000}") int batchSize) {
+        super("Student search index", "student-search-indexer-", new InvertedIndex());
+        this.studentRepository = studentRepository;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        if (!event.studentIds().isEmpty()) {
+            submit(() -> reindex(event.studentIds()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsDeleted(StudentsDeletedEvent event) {
+        if (!event.studentIds().isEmpty()) {
+            submit(() -> remove(event.studentIds()));
+        }
+    }
+
+    /**
+     * Best matches for the query, highest score first
+     */
+    public List<InvertedIndex.Hit> search(String query, int limit) {
+        return read(index -> index.search(query, limit));
+    }
+
+    /**
+     * Re-read every student into a fresh index
+     */
+    @Override
+    protected InvertedIndex build() {
+        long started = System.nanoTime();
+        InvertedIndex rebuilt = new InvertedIndex();
+        long afterId = 0L;
+        List<StudentSummary> rows;
+        do {
+            rows = studentRepository.findSummariesAfter(afterId, Limit.of(batchSize));
+            addAll(rebuilt, rows);
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == batchSize);
+
+        log.info("Student search index built: {} students in {} ms",
+                rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+        return rebuilt;
+    }
+
+    private void reindex(Set<Long> studentIds) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            List<StudentSummary> rows = studentRepository.findSummariesByIds(batch);
+
+            // Students deleted again before this ran are simply dropped
+            Set<Long> missing = new HashSet<>(batch);
+            rows.forEach(row -> missing.remove(row.getId()));
+
+            write(index -> {
+                addAll(index, rows);
+                missing.forEach(index::remove);
+            });
+        }
+        compactIfNeeded();
+    }
+
+    private void remove(Set<Long> studentIds) {
+        write(index -> studentIds.forEach(index::remove));
+        compactIfNeeded();
+    }
+
+    // Index writes never shrink posting lists, so rebuild once most documents are stale
+    private void compactIfNeeded() {
+        if (read(InvertedIndex::needsCompaction)) {
+            rebuild();
+        }
+    }
+
+    private void addAll(InvertedIndex target, List<StudentSummary> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> courseTitles = new HashMap<>();
+        for (StudentCourseSummary link : studentRepository.findCourseSummaries(ids(rows))) {
+            courseTitles.computeIfAbsent(link.getStudentId(), k -> new ArrayList<>()).add(link.getTitle());
+        }
+        for (StudentSummary row : rows) {
+            List<String> texts = new ArrayList<>();
+            texts.add(row.getName());
+            texts.add(row.getEmail());
+            texts.add(row.getDepartmentName());
+            texts.addAll(courseTitles.getOrDefault(row.getId(), List.of()));
+            target.put(row.getId(), texts);
+        }
+    }
+
+    private static Collection<Long> ids(List<StudentSummary> rows) {
+        return rows.stream().map(StudentSummary::getId).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt strength whose hash time fits the target on this
+ * machine. Each strength step doubles the work, so timing the minimum
+ * strength is enough to predict the rest.
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException(
+                    "BCrypt strength range must be within 4..31, got " + minStrength + ".." + maxStrength);
+        }
+        if (minStrength == maxStrength) {
+            return minStrength;
+        }
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("calibration"); // warm-up
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long baseNanos = Math.max(1, samples[SAMPLES / 2]);
+
+        int strength = minStrength;
+        long predicted = baseNanos;
+        while (strength < maxStrength && predicted * 2 <= target.toNanos()) {
+            predicted *= 2;
+            strength++;
+        }
+        log.info("BCrypt strength {} (~{} ms per hash, target {} ms)",
+                strength, predicted / 1_000_000, target.toMillis());
+        return strength;
+    }
+}
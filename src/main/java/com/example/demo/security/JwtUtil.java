@@ -1,14 +1,20 @@
 package com.example.demo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,40 +29,68 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
-    // Generate signing key from secret
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl:5m}")
+    private Duration verifiedCacheTtl;
+
+    // Built once at startup instead of per call
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens, so repeat requests skip the HMAC check (null when max-size is 0)
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        if (verifiedCacheMaxSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfterWrite(verifiedCacheTtl)
+                    .build();
+        }
+    }
+
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Throws a JwtException (or IllegalArgumentException for blank input) if the token is invalid.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (cached != null) {
+            if (cached.isExpired()) {
+                verifiedTokens.invalidate(token);
+                throw new ExpiredJwtException(null, cached.claims(), "JWT expired at " + cached.expiration());
+            }
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
 
     // Extract username from token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     // Extract expiration date from token
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     // Extract specific claim from token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    // Extract all claims from token
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    // Check if token is expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return claimsResolver.apply(verify(token).claims());
     }
 
     // Generate token for user
@@ -77,13 +111,12 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     // Validate token
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verify(token).isIssuedTo(userDetails.getUsername());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.example.demo.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Dedicated, bounded pool for BCrypt work (login verification and registration
+ * hashing), so a burst of logins cannot take CPU or request threads away from
+ * the rest of the API. When every worker is busy and the queue is full, new
+ * work is refused immediately with TooManyRequestsException (HTTP 429).
+ * Queue depth, active workers and queue wait time are published as
+ * executor.* metrics under name=password.hashing.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.bcrypt.pool-size:0}") int poolSize,
+                                   @Value("${security.bcrypt.queue-capacity:100}") int queueCapacity) {
+        // 0 = half the cores, leaving the rest for regular requests
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.rejected = Counter.builder("security.password.hashing.rejected")
+                .description("Login and registration requests refused because the hashing queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the task on the hashing pool, or throw TooManyRequestsException right away if it is saturated
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login or registration requests in progress; retry shortly", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by username.
+ * Saves the user + roles queries on every JWT-authenticated request.
+ * Entries are evicted when the user changes (see UserCacheEvictionListener)
+ * and hit/miss counts are published as cache.* metrics under "principals".
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Return the cached principal or load it; loader exceptions propagate and nothing is cached
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how long each encode and matches call takes as the
+ * security.password.hash timer (tag operation=encode|matches)
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer(meterRegistry, "encode");
+        this.matchesTimer = timer(meterRegistry, "matches");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hash")
+                .description("Password hashing latency")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
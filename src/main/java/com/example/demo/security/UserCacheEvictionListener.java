@@ -0,0 +1,41 @@
+package com.example.demo.security;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.entity.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Evicts a user's cached principal when the user is updated (disabled, roles
+ * changed, password reset) or deleted. Instantiated by Spring through
+ * Hibernate's bean container, so dependencies are constructor-injected.
+ */
+public class UserCacheEvictionListener {
+
+    private final PrincipalCache principalCache;
+
+    public UserCacheEvictionListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        principalCache.evict(username);
+
+        // Evict again after commit so a request racing the transaction
+        // cannot leave the pre-commit state cached until the TTL expires
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.evict(username);
+                }
+            });
+        }
+    }
+}
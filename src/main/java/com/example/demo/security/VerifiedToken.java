@@ -0,0 +1,20 @@
+package com.example.demo.security;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * A JWT whose signature has already been checked, with the claims the
+ * security layer needs. Produced once per token by JwtUtil.verify.
+ */
+public record VerifiedToken(String username, Date expiration, Claims claims) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    public boolean isIssuedTo(String expectedUsername) {
+        return username != null && username.equals(expectedUsername) && !isExpired();
+    }
+}
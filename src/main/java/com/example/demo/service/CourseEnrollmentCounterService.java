@@ -0,0 +1,160 @@
+package com.example.demo.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.entity.CourseEnrollmentCounter;
+import com.example.demo.repository.CourseEnrollmentCounterRepository;
+import com.example.demo.repository.CourseRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Maintains one enrollment counter per course (course_enrollment_counts), so
+ * enrollment counts are a primary-key read instead of a COUNT over student_course.
+ *
+ * Counters are adjusted with relative UPDATEs inside the transaction that
+ * changes the enrollments, so they commit or roll back together with them.
+ * Anything that bypasses these methods (e.g. SQL run by hand, or courses
+ * created before counters existed) is repaired by reconcile(), which runs at
+ * startup and every app.enrollment-counters.reconcile-interval.
+ */
+@Service
+public class CourseEnrollmentCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseEnrollmentCounterService.class);
+
+    private final CourseEnrollmentCounterRepository counterRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedCounters;
+
+    public CourseEnrollmentCounterService(CourseEnrollmentCounterRepository counterRepository,
+                                          CourseRepository courseRepository,
+                                          TransactionTemplate transactionTemplate,
+                                          MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.repairedCounters = Counter.builder("enrollment.counters.repaired")
+                .description("Course enrollment counters corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record that a student was enrolled in addedCourseIds and withdrawn from removedCourseIds
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEnrollmentChanges(Collection<Long> addedCourseIds, Collection<Long> removedCourseIds) {
+        if (!addedCourseIds.isEmpty()) {
+            counterRepository.addToCounts(new TreeSet<>(addedCourseIds), 1);
+        }
+        if (!removedCourseIds.isEmpty()) {
+            counterRepository.addToCounts(new TreeSet<>(removedCourseIds), -1);
+        }
+    }
+
+    /**
+     * Add a (possibly negative) delta per course; courses sharing a delta are updated in one statement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDeltas(Map<Long, Long> deltaByCourseId) {
+        Map<Long, TreeSet<Long>> courseIdsByDelta = new TreeMap<>();
+        deltaByCourseId.forEach((courseId, delta) -> {
+            if (delta != 0) {
+                courseIdsByDelta.computeIfAbsent(delta, k -> new TreeSet<>()).add(courseId);
+            }
+        });
+        courseIdsByDelta.forEach((delta, courseIds) -> counterRepository.addToCounts(courseIds, delta));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createCounter(Long courseId) {
+        counterRepository.save(new CourseEnrollmentCounter(courseId, 0));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteCounter(Long courseId) {
+        counterRepository.deleteById(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public long getEnrollmentCount(Long courseId) {
+        return counterRepository.findById(courseId)
+                .map(CourseEnrollmentCounter::getEnrollmentCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Enrollment count of every course, ordered by title
+     */
+    @Transactional(readOnly = true)
+    public List<CourseEnrollmentCount> getEnrollmentCounts() {
+        return counterRepository.findAllCounts();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.enrollment-counters.reconcile-interval:PT1H}",
+               initialDelayString = "${app.enrollment-counters.reconcile-interval:PT1H}")
+    public void reconcilePeriodically() {
+        reconcile();
+    }
+
+    /**
+     * Recount enrollments and correct, create or remove counters that drifted.
+     * Counters are locked first, so enrollment changes committing meanwhile
+     * wait instead of being counted twice or lost. Returns the number of
+     * counters corrected.
+     */
+    public int reconcile() {
+        Integer repaired = transactionTemplate.execute(status -> {
+            Map<Long, CourseEnrollmentCounter> counters = new HashMap<>();
+            counterRepository.findAllForUpdate().forEach(counter -> counters.put(counter.getCourseId(), counter));
+
+            int corrections = 0;
+            for (CourseEnrollmentCount actual : courseRepository.countEnrollmentsByCourse()) {
+                CourseEnrollmentCounter counter = counters.remove(actual.getCourseId());
+                if (counter == null) {
+                    counterRepository.save(new CourseEnrollmentCounter(actual.getCourseId(), actual.getEnrollmentCount()));
+                    corrections++;
+                } else if (counter.getEnrollmentCount() != actual.getEnrollmentCount()) {
+                    log.warn("Enrollment counter for course {} was {}, actual {}",
+                            actual.getCourseId(), counter.getEnrollmentCount(), actual.getEnrollmentCount());
+                    counter.setEnrollmentCount(actual.getEnrollmentCount());
+                    corrections++;
+                }
+            }
+
+            // Counters left over belong to deleted courses
+            counterRepository.deleteAll(counters.values());
+            return corrections + counters.size();
+        });
+
+        int corrections = repaired != null ? repaired : 0;
+        if (corrections > 0) {
+            repairedCounters.increment(corrections);
+            log.info("Reconciled enrollment counters: {} corrected", corrections);
+        }
+        return corrections;
+    }
+}
@@ -1,21 +1,57 @@
 package com.example.demo.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.CoursePair;
+import com.example.demo.dto.CourseView;
+import com.example.demo.dto.TableVersionStamp;
 import com.example.demo.entity.Course;
+import com.example.demo.event.StudentsChangedEvent;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.search.EnrollmentGraph;
+import com.example.demo.search.EnrollmentGraphIndex;
+import com.example.demo.service.DataVersions.DataSet;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("app.service.invocations")
 public class CourseService {
 
+    public static final int DEFAULT_PAIR_LIMIT = 20;
+    public static final int MAX_PAIR_LIMIT = 100;
+
     private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final CourseEnrollmentCounterService enrollmentCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersions dataVersions;
+    private final EnrollmentGraphIndex enrollmentGraph;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository,
+                         StudentRepository studentRepository,
+                         CourseEnrollmentCounterService enrollmentCounterService,
+                         ApplicationEventPublisher eventPublisher,
+                         DataVersions dataVersions,
+                         EnrollmentGraphIndex enrollmentGraph) {
         this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.enrollmentCounterService = enrollmentCounterService;
+        this.eventPublisher = eventPublisher;
+        this.dataVersions = dataVersions;
+        this.enrollmentGraph = enrollmentGraph;
     }
 
     @Transactional(readOnly = true)
@@ -29,15 +65,92 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public List<CourseView> getAllCourseViews() {
+        return courseRepository.findAllViews();
+    }
+
+    @Transactional(readOnly = true)
+    public CourseView getCourseView(Long id) {
+        return courseRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+    }
+
+    /**
+     * Changes whenever a course is added, changed or removed; read without loading courses
+     */
+    @Transactional(readOnly = true)
+    public TableVersionStamp getCoursesVersionStamp() {
+        return courseRepository.findVersionStamp();
+    }
+
+    /**
+     * Course pairs with the most students enrolled in both, counted on the
+     * in-memory enrollment graph
+     */
+    @Transactional(readOnly = true)
+    public List<CoursePair> getTopCoursePairs(int limit) {
+        List<EnrollmentGraph.Pair> pairs = enrollmentGraph.topPairs(Math.max(1, Math.min(limit, MAX_PAIR_LIMIT)));
+        if (pairs.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CourseView> coursesById = new HashMap<>();
+        courseRepository.findAllViews().forEach(course -> coursesById.put(course.id(), course));
+
+        List<CoursePair> results = new ArrayList<>(pairs.size());
+        for (EnrollmentGraph.Pair pair : pairs) {
+            CourseView first = coursesById.get(pair.firstCourseId());
+            CourseView second = coursesById.get(pair.secondCourseId());
+            if (first != null && second != null) {
+                results.add(new CoursePair(first, second, pair.students()));
+            }
+        }
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public long getCourseVersion(Long id) {
+        return courseRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+    }
+
     @Transactional
     public Course saveCourse(Course course) {
-        return courseRepository.save(course);
+        dataVersions.bump(DataSet.COURSES);
+        if (course.getId() != null) {
+            // May be a retitle; course titles are indexed with their students
+            eventPublisher.publishEvent(
+                    new StudentsChangedEvent(studentRepository.findIdsByCourseId(course.getId())));
+            return courseRepository.save(course);
+        }
+        Course saved = courseRepository.save(course);
+        enrollmentCounterService.createCounter(saved.getId());
+        return saved;
     }
 
     @Transactional
     public Course updateCourse(Long id, Course courseData) {
+        return updateCourse(id, courseData, version -> true);
+    }
+
+    /**
+     * Update a course provided its version as loaded by this transaction
+     * passes the precondition (typically the client's If-Match); otherwise
+     * throws PreconditionFailedException. An update committed by someone else
+     * after the check fails this one on @Version instead of being overwritten.
+     */
+    @Transactional
+    public Course updateCourse(Long id, Course courseData, Predicate<Long> precondition) {
         Course existingCourse = getCourseById(id);
+        if (!precondition.test(existingCourse.getVersion())) {
+            throw new PreconditionFailedException("Course " + id + " was modified since it was read");
+        }
+        if (!Objects.equals(existingCourse.getTitle(), courseData.getTitle())) {
+            // Course titles are indexed with their students
+            eventPublisher.publishEvent(new StudentsChangedEvent(studentRepository.findIdsByCourseId(id)));
+        }
         existingCourse.setTitle(courseData.getTitle());
+        dataVersions.bump(DataSet.COURSES);
         return courseRepository.save(existingCourse);
     }
 
@@ -46,6 +159,9 @@ public class CourseService {
         if (!courseRepository.existsById(id)) {
             throw new ResourceNotFoundException("Course not found with id: " + id);
         }
+        eventPublisher.publishEvent(new StudentsChangedEvent(studentRepository.findIdsByCourseId(id)));
+        enrollmentCounterService.deleteCounter(id);
         courseRepository.deleteById(id);
+        dataVersions.bump(DataSet.COURSES);
     }
 }
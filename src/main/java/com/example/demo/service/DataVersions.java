@@ -0,0 +1,58 @@
+package com.example.demo.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory version counters per data set, bumped by the service write
+ * methods and read by caches of derived data (the rendered list pages).
+ *
+ * A bump inside a transaction happens after commit, so a reader that sees
+ * the new version also sees the committed data; a rolled-back write bumps
+ * nothing. Counters are per instance and restart at zero: writes made by
+ * other instances or directly in the database are not seen.
+ */
+@Component
+public class DataVersions {
+
+    public enum DataSet {
+        STUDENTS, COURSES, DEPARTMENTS
+    }
+
+    private final Map<DataSet, AtomicLong> versions = new EnumMap<>(DataSet.class);
+
+    public DataVersions() {
+        for (DataSet dataSet : DataSet.values()) {
+            versions.put(dataSet, new AtomicLong());
+        }
+    }
+
+    /**
+     * Stamp that changes whenever any of the given data sets changes
+     */
+    public long stamp(DataSet... dataSets) {
+        long stamp = 0;
+        for (DataSet dataSet : dataSets) {
+            stamp += versions.get(dataSet).get();
+        }
+        return stamp;
+    }
+
+    public void bump(DataSet dataSet) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.get(dataSet).incrementAndGet();
+                }
+            });
+        } else {
+            versions.get(dataSet).incrementAndGet();
+        }
+    }
+}
@@ -1,21 +1,45 @@
 package com.example.demo.service;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.DepartmentView;
+import com.example.demo.dto.TableVersionStamp;
 import com.example.demo.entity.Department;
+import com.example.demo.event.StudentsChangedEvent;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.example.demo.service.DataVersions.DataSet;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("app.service.invocations")
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final StudentRepository studentRepository;
+    private final StudentService studentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersions dataVersions;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository,
+                             StudentRepository studentRepository,
+                             StudentService studentService,
+                             ApplicationEventPublisher eventPublisher,
+                             DataVersions dataVersions) {
         this.departmentRepository = departmentRepository;
+        this.studentRepository = studentRepository;
+        this.studentService = studentService;
+        this.eventPublisher = eventPublisher;
+        this.dataVersions = dataVersions;
     }
 
     @Transactional(readOnly = true)
@@ -29,15 +53,65 @@ public class DepartmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public List<DepartmentView> getAllDepartmentViews() {
+        return departmentRepository.findAllViews();
+    }
+
+    @Transactional(readOnly = true)
+    public DepartmentView getDepartmentView(Long id) {
+        return departmentRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+    }
+
+    /**
+     * Changes whenever a department is added, changed or removed; read without loading departments
+     */
+    @Transactional(readOnly = true)
+    public TableVersionStamp getDepartmentsVersionStamp() {
+        return departmentRepository.findVersionStamp();
+    }
+
+    @Transactional(readOnly = true)
+    public long getDepartmentVersion(Long id) {
+        return departmentRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+    }
+
     @Transactional
     public Department saveDepartment(Department department) {
+        if (department.getId() != null) {
+            // May be a rename; department names are indexed with their students
+            eventPublisher.publishEvent(
+                    new StudentsChangedEvent(studentRepository.findIdsByDepartmentId(department.getId())));
+        }
+        dataVersions.bump(DataSet.DEPARTMENTS);
         return departmentRepository.save(department);
     }
 
     @Transactional
     public Department updateDepartment(Long id, Department departmentData) {
+        return updateDepartment(id, departmentData, version -> true);
+    }
+
+    /**
+     * Update a department provided its version as loaded by this transaction
+     * passes the precondition (typically the client's If-Match); otherwise
+     * throws PreconditionFailedException. An update committed by someone else
+     * after the check fails this one on @Version instead of being overwritten.
+     */
+    @Transactional
+    public Department updateDepartment(Long id, Department departmentData, Predicate<Long> precondition) {
         Department existingDepartment = getDepartmentById(id);
+        if (!precondition.test(existingDepartment.getVersion())) {
+            throw new PreconditionFailedException("Department " + id + " was modified since it was read");
+        }
+        if (!Objects.equals(existingDepartment.getName(), departmentData.getName())) {
+            // Department names are indexed with their students
+            eventPublisher.publishEvent(new StudentsChangedEvent(studentRepository.findIdsByDepartmentId(id)));
+        }
         existingDepartment.setName(departmentData.getName());
+        dataVersions.bump(DataSet.DEPARTMENTS);
         return departmentRepository.save(existingDepartment);
     }
 
@@ -46,6 +120,9 @@ public class DepartmentService {
         if (!departmentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Department not found with id: " + id);
         }
+        // Set-based delete of the students first, so the cascade finds none to remove one by one
+        studentService.deleteStudentsOfDepartment(id);
         departmentRepository.deleteById(id);
+        dataVersions.bump(DataSet.DEPARTMENTS);
     }
 }
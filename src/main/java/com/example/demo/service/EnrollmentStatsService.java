@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.dto.DepartmentStudentCount;
+import com.example.demo.dto.EnrollmentSummary;
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Enrollment reports aggregated by the database (GROUP BY / COUNT), so their
+ * cost does not depend on how many students are loaded into the JVM.
+ *
+ * Aggregates are cached for app.stats.cache-ttl and may lag writes by that
+ * much. Per-course counts are read live from the enrollment counters, and the
+ * paged students-without-courses listing is not cached. The
+ * service is deliberately not transactional: a cache hit needs no connection.
+ */
+@Service
+public class EnrollmentStatsService {
+
+    private static final String SUMMARY = "summary";
+    private static final String BY_DEPARTMENT = "by-department";
+
+    private final StudentRepository studentRepository;
+    private final CourseEnrollmentCounterService enrollmentCounterService;
+    private final Cache<String, Object> cache;
+
+    public EnrollmentStatsService(StudentRepository studentRepository,
+                                  CourseEnrollmentCounterService enrollmentCounterService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.stats.cache-ttl:30s}") Duration cacheTtl) {
+        this.studentRepository = studentRepository;
+        this.enrollmentCounterService = enrollmentCounterService;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "enrollment-stats");
+    }
+
+    public EnrollmentSummary getSummary() {
+        return cached(SUMMARY, () -> new EnrollmentSummary(
+                studentRepository.count(),
+                studentRepository.countWithoutDepartment(),
+                studentRepository.countWithoutCourses(),
+                studentRepository.countEnrollments()));
+    }
+
+    public List<DepartmentStudentCount> getStudentCountsByDepartment() {
+        return cached(BY_DEPARTMENT, studentRepository::countByDepartment);
+    }
+
+    public List<CourseEnrollmentCount> getEnrollmentCountsByCourse() {
+        return enrollmentCounterService.getEnrollmentCounts();
+    }
+
+    /**
+     * Keyset page of students enrolled in no course, ordered by id
+     */
+    public List<StudentSummary> getStudentsWithoutCourses(long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, StudentService.MAX_PAGE_SIZE));
+        return studentRepository.findSummariesWithoutCoursesAfter(afterId, Limit.of(pageSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> loader) {
+        return (T) cache.get(key, k -> loader.get());
+    }
+}
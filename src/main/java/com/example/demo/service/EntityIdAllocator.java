@@ -0,0 +1,44 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Hands out entity IDs from the same pooled Hibernate generators the ORM uses,
+ * so JDBC code can insert rows with explicit keys and batch them.
+ * Must be called inside a transaction.
+ */
+@Component
+public class EntityIdAllocator {
+
+    private final EntityManager entityManager;
+
+    public EntityIdAllocator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<Long> allocate(Class<?> entityType, int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Generator generator = session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator idGenerator)) {
+            throw new IllegalStateException("IDs of " + entityType.getSimpleName() + " are generated by the database");
+        }
+
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(((Number) idGenerator.generate(session, null, null, EventType.INSERT)).longValue());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.demo.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.BulkImportResult;
+import com.example.demo.dto.StudentImportRow;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.entity.Student;
+import com.example.demo.entity.StudentProfile;
+import com.example.demo.event.StudentsChangedEvent;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.service.DataVersions.DataSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streams CSV/NDJSON student records into the database with JDBC batch inserts.
+ * Rows are parsed one line at a time, departments and courses are resolved
+ * from an in-memory lookup, and each batch commits in its own transaction so
+ * a bad row only affects the report, not the rest of the import.
+ */
+@Service
+public class StudentBulkImportService {
+
+    private static final String INSERT_PROFILE_SQL =
+            "INSERT INTO student_profiles (id, version, address, phone) VALUES (?, 0, ?, ?)";
+    private static final String INSERT_STUDENT_SQL =
+            "INSERT INTO students (id, version, name, email, profile_id, department_id) VALUES (?, 0, ?, ?, ?, ?)";
+    private static final String INSERT_STUDENT_COURSE_SQL =
+            "INSERT INTO student_course (student_id, course_id) VALUES (?, ?)";
+    private static final String SELECT_EXISTING_EMAILS_SQL =
+            "SELECT email FROM students WHERE email IN (:emails)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+    private final EntityIdAllocator entityIdAllocator;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final CourseEnrollmentCounterService enrollmentCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersions dataVersions;
+
+    @Value("${app.bulk-import.batch-size:1000}")
+    private int batchSize;
+
+    public StudentBulkImportService(JdbcTemplate jdbcTemplate,
+                                    NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    DepartmentRepository departmentRepository,
+                                    CourseRepository courseRepository,
+                                    EntityIdAllocator entityIdAllocator,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    CourseEnrollmentCounterService enrollmentCounterService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    DataVersions dataVersions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.departmentRepository = departmentRepository;
+        this.courseRepository = courseRepository;
+        this.entityIdAllocator = entityIdAllocator;
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(StudentImportRow.class);
+        this.enrollmentCounterService = enrollmentCounterService;
+        this.eventPublisher = eventPublisher;
+        this.dataVersions = dataVersions;
+    }
+
+    /**
+     * Import students from the stream. Row numbers in the report are line
+     * numbers of the uploaded file (the CSV header is line 1).
+     */
+    public BulkImportResult importStudents(InputStream input, StudentFileFormat format) throws IOException {
+        ReferenceLookup departments = new ReferenceLookup("Department");
+        for (Department department : departmentRepository.findAll()) {
+            departments.add(department.getId(), department.getName());
+        }
+        ReferenceLookup courses = new ReferenceLookup("Course");
+        for (Course course : courseRepository.findAll()) {
+            courses.add(course.getId(), course.getTitle());
+        }
+
+        BulkImportResult result = new BulkImportResult();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            StudentCsvRowParser csvParser = null;
+            if (format == StudentFileFormat.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return result;
+                }
+                csvParser = new StudentCsvRowParser(header);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setProcessed(result.getProcessed() + 1);
+
+                StudentImportRow row;
+                try {
+                    row = csvParser != null ? csvParser.parse(line) : rowReader.readValue(line);
+                } catch (IllegalArgumentException | IOException e) {
+                    result.addError(lineNumber, null, "Malformed row: " + e.getMessage());
+                    continue;
+                }
+                if (row == null) {
+                    // An NDJSON line holding the literal null
+                    result.addError(lineNumber, null, "Malformed row: not an object");
+                    continue;
+                }
+
+                String error = validate(row);
+                if (error == null && !seenEmails.add(row.getEmail().toLowerCase(Locale.ROOT))) {
+                    error = "Duplicate email in import";
+                }
+                if (error != null) {
+                    result.addError(lineNumber, row.getEmail(), error);
+                    continue;
+                }
+
+                try {
+                    Long departmentId = departments.resolve(row.getDepartment());
+                    Set<Long> courseIds = new HashSet<>();
+                    if (row.getCourses() != null) {
+                        for (String course : row.getCourses()) {
+                            Long courseId = courses.resolve(course);
+                            if (courseId != null) {
+                                courseIds.add(courseId);
+                            }
+                        }
+                    }
+                    batch.add(new PendingRow(lineNumber, row, departmentId, courseIds));
+                } catch (IllegalArgumentException e) {
+                    result.addError(lineNumber, row.getEmail(), e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, result);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch, result);
+        }
+        // Batch-level rejections are reported after parse errors; restore file order
+        result.getErrors().sort(Comparator.comparingLong(BulkImportResult.RowError::getRow));
+        return result;
+    }
+
+    private String validate(StudentImportRow row) {
+        Set<ConstraintViolation<StudentImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeBatch(List<PendingRow> batch, BulkImportResult result) {
+        List<PendingRow> rows = rejectExistingEmails(batch, result);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(rows));
+            result.setImported(result.getImported() + rows.size());
+        } catch (DataAccessException e) {
+            // A single bad row fails the whole JDBC batch; retry row by row to isolate it
+            for (PendingRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(List.of(row)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowException) {
+                    result.addError(row.lineNumber(), row.row().getEmail(),
+                            "Could not insert row: " + NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                }
+            }
+        }
+    }
+
+    private List<PendingRow> rejectExistingEmails(List<PendingRow> batch, BulkImportResult result) {
+        // Case-insensitive through the column collation (MySQL *_ci), like the duplicate
+        // check within the file; a bare column keeps the unique email index usable
+        List<String> emails = batch.stream().map(row -> row.row().getEmail().toLowerCase(Locale.ROOT)).toList();
+        Set<String> existing = namedParameterJdbcTemplate
+                .queryForList(SELECT_EXISTING_EMAILS_SQL, Map.of("emails", emails), String.class)
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        if (existing.isEmpty()) {
+            return batch;
+        }
+
+        List<PendingRow> rows = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            if (existing.contains(row.row().getEmail().toLowerCase(Locale.ROOT))) {
+                result.addError(row.lineNumber(), row.row().getEmail(), "Email already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private void insertRows(List<PendingRow> rows) {
+        // Step 1: profiles for rows that carry address or phone
+        List<PendingRow> withProfile = rows.stream()
+                .filter(row -> row.row().getAddress() != null || row.row().getPhone() != null)
+                .toList();
+        List<Long> profileIds = entityIdAllocator.allocate(StudentProfile.class, withProfile.size());
+        Map<PendingRow, Long> profileIdByRow = new HashMap<>();
+        List<Object[]> profiles = new ArrayList<>(withProfile.size());
+        for (int i = 0; i < withProfile.size(); i++) {
+            StudentImportRow row = withProfile.get(i).row();
+            profileIdByRow.put(withProfile.get(i), profileIds.get(i));
+            profiles.add(new Object[] {profileIds.get(i), row.getAddress(), row.getPhone()});
+        }
+
+        // Step 2: students
+        List<Long> studentIds = entityIdAllocator.allocate(Student.class, rows.size());
+        List<Object[]> students = new ArrayList<>(rows.size());
+        List<Object[]> links = new ArrayList<>();
+        Map<Long, Long> enrollmentsByCourse = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            PendingRow row = rows.get(i);
+            students.add(new Object[] {studentIds.get(i), row.row().getName(), row.row().getEmail(),
+                    profileIdByRow.get(row), row.departmentId()});
+            for (Long courseId : row.courseIds()) {
+                links.add(new Object[] {studentIds.get(i), courseId});
+                enrollmentsByCourse.merge(courseId, 1L, Long::sum);
+            }
+        }
+
+        // Step 3: write all three tables as JDBC batches
+        if (!profiles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROFILE_SQL, profiles);
+        }
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, students);
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STUDENT_COURSE_SQL, links);
+            enrollmentCounterService.applyDeltas(enrollmentsByCourse);
+        }
+
+        // Delivered to listeners only if this batch commits
+        eventPublisher.publishEvent(new StudentsChangedEvent(studentIds));
+        dataVersions.bump(DataSet.STUDENTS);
+    }
+
+    private record PendingRow(long lineNumber, StudentImportRow row, Long departmentId, Set<Long> courseIds) {
+    }
+
+    /**
+     * Resolves a department or course reference given either as an ID or as a case-insensitive name
+     */
+    private static class ReferenceLookup {
+
+        private final String label;
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+
+        ReferenceLookup(String label) {
+            this.label = label;
+        }
+
+        void add(Long id, String name) {
+            ids.add(id);
+            if (name != null) {
+                idsByName.put(name.trim().toLowerCase(Locale.ROOT), id);
+            }
+        }
+
+        Long resolve(String reference) {
+            if (reference == null || reference.isBlank()) {
+                return null;
+            }
+            String key = reference.trim();
+            if (key.chars().allMatch(Character::isDigit)) {
+                Long id = Long.valueOf(key);
+                if (ids.contains(id)) {
+                    return id;
+                }
+            }
+            Long id = idsByName.get(key.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new IllegalArgumentException(label + " not found: " + reference);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.demo.dto.StudentImportRow;
+import com.example.demo.exception.BadRequestException;
+
+/**
+ * Parses CSV import lines into rows using the column order of the header line.
+ * Supports double-quoted fields with "" escapes; a record must fit on one line.
+ */
+class StudentCsvRowParser {
+
+    private static final String COURSE_SEPARATOR = ";";
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    StudentCsvRowParser(String headerLine) {
+        List<String> header = split(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("email")) {
+            throw new BadRequestException("CSV header must contain name and email columns");
+        }
+    }
+
+    StudentImportRow parse(String line) {
+        List<String> values = split(line);
+        StudentImportRow row = new StudentImportRow();
+        row.setName(value(values, "name"));
+        row.setEmail(value(values, "email"));
+        row.setAddress(value(values, "address"));
+        row.setPhone(value(values, "phone"));
+        row.setDepartment(value(values, "department"));
+
+        String courses = value(values, "courses");
+        if (courses != null) {
+            for (String course : courses.split(COURSE_SEPARATOR)) {
+                if (!course.isBlank()) {
+                    row.getCourses().add(course.trim());
+                }
+            }
+        }
+        return row;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (inQuotes) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+
+        if (inQuotes) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes the student roster to a stream as NDJSON or CSV with constant memory.
+ * Rows come from a forward-only query and are written as they arrive; the
+ * persistence context is cleared after every chunk so it never holds more
+ * than one chunk of students. Column names match the bulk import, so an
+ * export can be loaded back through POST /api/students/bulk.
+ */
+@Service
+public class StudentExportService {
+
+    private static final String CSV_HEADER = "id,name,email,address,phone,department,courses";
+    private static final String COURSE_SEPARATOR = ";";
+
+    private final StudentRepository studentRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+
+    @Value("${app.export.chunk-size:500}")
+    private int chunkSize;
+
+    public StudentExportService(StudentRepository studentRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
+        this.rowWriter = objectMapper.writerFor(Map.class);
+    }
+
+    /**
+     * Write every student with id greater than afterId, in id order.
+     * Pass the last exported id to resume an interrupted export.
+     *
+     * @return number of students written
+     */
+    @Transactional(readOnly = true)
+    public long exportStudents(long afterId, StudentFileFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == StudentFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Student> students = studentRepository.streamWithFullGraphAfter(afterId)) {
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                Student student = iterator.next();
+                if (format == StudentFileFormat.CSV) {
+                    writeCsvRow(writer, student);
+                } else {
+                    writer.write(rowWriter.writeValueAsString(toRow(student)));
+                    writer.write('\n');
+                }
+
+                if (++count % chunkSize == 0) {
+                    // Push the chunk to the client and detach it before reading on
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private Map<String, Object> toRow(Student student) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", student.getId());
+        row.put("name", student.getName());
+        row.put("email", student.getEmail());
+        row.put("address", student.getProfile() != null ? student.getProfile().getAddress() : null);
+        row.put("phone", student.getProfile() != null ? student.getProfile().getPhone() : null);
+        row.put("department", student.getDepartment() != null ? student.getDepartment().getName() : null);
+        row.put("courses", courseTitles(student));
+        return row;
+    }
+
+    private void writeCsvRow(Writer writer, Student student) throws IOException {
+        Map<String, Object> row = toRow(student);
+        boolean first = true;
+        for (Object value : row.values()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value instanceof List<?> titles) {
+                writer.write(csvField(String.join(COURSE_SEPARATOR, titles.stream().map(String::valueOf).toList())));
+            } else if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static List<String> courseTitles(Student student) {
+        return student.getCourses().stream()
+                .sorted(Comparator.comparing(Course::getId))
+                .map(Course::getTitle)
+                .toList();
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
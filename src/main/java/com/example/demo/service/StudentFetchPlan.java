@@ -0,0 +1,15 @@
+package com.example.demo.service;
+
+/**
+ * Named fetch plans for loading students.
+ * Each plan loads its associations in a single statement, so the number of
+ * queries does not grow with the number of rows returned.
+ */
+public enum StudentFetchPlan {
+
+    /** Student with profile and department */
+    SUMMARY,
+
+    /** Student with profile, department and courses */
+    FULL
+}
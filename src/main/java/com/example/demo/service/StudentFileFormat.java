@@ -0,0 +1,51 @@
+package com.example.demo.service;
+
+import java.util.Locale;
+
+import com.example.demo.exception.BadRequestException;
+
+/**
+ * File formats of the bulk student import and export
+ */
+public enum StudentFileFormat {
+
+    /** Header line followed by one record per line; courses separated by ';' */
+    CSV("text/csv"),
+
+    /** One JSON object per line */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    StudentFileFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Look up a format by name (csv, ndjson), ignoring case
+     */
+    public static StudentFileFormat fromName(String name) {
+        for (StudentFileFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format: " + name + " (expected csv or ndjson)");
+    }
+
+    public static StudentFileFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String normalized = contentType.toLowerCase(Locale.ROOT);
+            for (StudentFileFormat format : values()) {
+                if (normalized.startsWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+}
@@ -1,65 +1,312 @@
 package com.example.demo.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.BatchResult;
+import com.example.demo.dto.BulkChangeResult;
+import com.example.demo.dto.CoEnrolledStudent;
+import com.example.demo.dto.CourseEnrollmentCount;
+import com.example.demo.dto.CourseView;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.StudentApiRequestDto;
+import com.example.demo.dto.StudentCourseSummary;
+import com.example.demo.dto.StudentField;
+import com.example.demo.dto.StudentSummary;
+import com.example.demo.dto.StudentVersionStamp;
+import com.example.demo.dto.StudentView;
 import com.example.demo.entity.Course;
 import com.example.demo.entity.Department;
 import com.example.demo.entity.Student;
 import com.example.demo.entity.StudentProfile;
+import com.example.demo.event.StudentsChangedEvent;
+import com.example.demo.event.StudentsDeletedEvent;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.CourseRepository;
 import com.example.demo.repository.DepartmentRepository;
 import com.example.demo.repository.StudentRepository;
+import com.example.demo.search.EnrollmentGraph;
+import com.example.demo.search.EnrollmentGraphIndex;
+import com.example.demo.search.InvertedIndex;
+import com.example.demo.search.StudentSearchIndex;
+import com.example.demo.service.DataVersions.DataSet;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("app.service.invocations")
 public class StudentService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_BULK_IDS = 10_000;
+    public static final int DEFAULT_CO_ENROLLED_LIMIT = 20;
+    public static final int MAX_CO_ENROLLED_LIMIT = 100;
+
+    private static final String CURSOR_PREFIX = "id:";
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final StudentRepository studentRepository;
     private final DepartmentRepository departmentRepository;
     private final CourseRepository courseRepository;
+    private final CourseEnrollmentCounterService enrollmentCounterService;
+    private final StudentSearchIndex searchIndex;
+    private final EnrollmentGraphIndex enrollmentGraph;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataVersions dataVersions;
 
     public StudentService(StudentRepository studentRepository,
                           DepartmentRepository departmentRepository,
-                          CourseRepository courseRepository) {
+                          CourseRepository courseRepository,
+                          CourseEnrollmentCounterService enrollmentCounterService,
+                          StudentSearchIndex searchIndex,
+                          EnrollmentGraphIndex enrollmentGraph,
+                          ApplicationEventPublisher eventPublisher,
+                          DataVersions dataVersions) {
         this.studentRepository = studentRepository;
         this.departmentRepository = departmentRepository;
         this.courseRepository = courseRepository;
+        this.enrollmentCounterService = enrollmentCounterService;
+        this.searchIndex = searchIndex;
+        this.enrollmentGraph = enrollmentGraph;
+        this.eventPublisher = eventPublisher;
+        this.dataVersions = dataVersions;
     }
 
     /**
-     * Get all students
+     * Get all students with profile, department and courses loaded
      */
     @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+        return getAllStudents(StudentFetchPlan.FULL);
     }
 
     /**
-     * Get student by ID
+     * Get all students, loading associations according to the fetch plan
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getAllStudents(StudentFetchPlan plan) {
+        return switch (plan) {
+            case SUMMARY -> studentRepository.findAllWithSummaryGraph();
+            case FULL -> studentRepository.findAllWithFullGraph();
+        };
+    }
+
+    /**
+     * Get one keyset page of students, projected to the requested fields.
+     * Reads flat projections instead of entity graphs; courses are only
+     * queried when the COURSES field is selected.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getStudentPage(String cursor, int limit, Set<StudentField> fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = decodeCursor(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<StudentSummary> rows = studentRepository.findSummariesAfter(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        Map<Long, List<Map<String, Object>>> coursesByStudent = new HashMap<>();
+        if (fields.contains(StudentField.COURSES) && !rows.isEmpty()) {
+            List<Long> ids = rows.stream().map(StudentSummary::getId).toList();
+            for (StudentCourseSummary link : studentRepository.findCourseSummaries(ids)) {
+                Map<String, Object> course = new LinkedHashMap<>();
+                course.put("id", link.getCourseId());
+                course.put("title", link.getTitle());
+                coursesByStudent.computeIfAbsent(link.getStudentId(), k -> new ArrayList<>()).add(course);
+            }
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (StudentSummary row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (StudentField field : fields) {
+                item.put(field.getJsonName(), switch (field) {
+                    case ID -> row.getId();
+                    case NAME -> row.getName();
+                    case EMAIL -> row.getEmail();
+                    case ADDRESS -> row.getAddress();
+                    case PHONE -> row.getPhone();
+                    case DEPARTMENT_ID -> row.getDepartmentId();
+                    case DEPARTMENT_NAME -> row.getDepartmentName();
+                    case COURSES -> coursesByStudent.getOrDefault(row.getId(), List.of());
+                });
+            }
+            items.add(item);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(rows.get(rows.size() - 1).getId()) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Full-text search over name, email, department and course titles.
+     * Matching runs against the in-memory index; only the hits are read
+     * from the database, and they are returned in rank order.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> searchStudents(String query, int limit) {
+        List<InvertedIndex.Hit> hits = searchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, StudentSummary> rowsById = new HashMap<>();
+        List<Long> ids = hits.stream().map(InvertedIndex.Hit::studentId).toList();
+        studentRepository.findSummariesByIds(ids).forEach(row -> rowsById.put(row.getId(), row));
+
+        // A hit can outlive its student by a few milliseconds until the index catches up
+        List<StudentSummary> results = new ArrayList<>(hits.size());
+        for (Long id : ids) {
+            StudentSummary row = rowsById.get(id);
+            if (row != null) {
+                results.add(row);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Students sharing at least minShared courses with the given one, most
+     * shared courses first. The overlap is counted on the in-memory enrollment
+     * graph; only the returned students are read from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<CoEnrolledStudent> getCoEnrolledStudents(Long id, int minShared, int limit) {
+        if (!studentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Student not found with id: " + id);
+        }
+        List<EnrollmentGraph.CoEnrollment> matches = enrollmentGraph.coEnrolled(
+                id, Math.max(1, minShared), Math.max(1, Math.min(limit, MAX_CO_ENROLLED_LIMIT)));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, StudentSummary> rowsById = new HashMap<>();
+        List<Long> ids = matches.stream().map(EnrollmentGraph.CoEnrollment::studentId).toList();
+        studentRepository.findSummariesByIds(ids).forEach(row -> rowsById.put(row.getId(), row));
+
+        // As with search, a match can briefly outlive its student
+        List<CoEnrolledStudent> results = new ArrayList<>(matches.size());
+        for (EnrollmentGraph.CoEnrollment match : matches) {
+            StudentSummary row = rowsById.get(match.studentId());
+            if (row != null) {
+                results.add(new CoEnrolledStudent(row.getId(), row.getName(), row.getEmail(),
+                        row.getDepartmentName(), match.sharedCourses()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Get student by ID with profile, department and courses loaded
      */
     @Transactional(readOnly = true)
     public Student getStudentById(Long id) {
-        return studentRepository.findById(id)
+        return getStudentById(id, StudentFetchPlan.FULL);
+    }
+
+    /**
+     * Get a student as its REST read model, built from column projections
+     */
+    @Transactional(readOnly = true)
+    public StudentView getStudentView(Long id) {
+        StudentView view = loadViews(List.of(id)).get(id);
+        if (view == null) {
+            throw new ResourceNotFoundException("Student not found with id: " + id);
+        }
+        return view;
+    }
+
+    /**
+     * Get several students by ID as read models, with one joined query for
+     * the whole batch. Items follow the order of the requested IDs (duplicates
+     * collapsed); IDs that do not exist are reported instead of failing the batch.
+     */
+    @Transactional(readOnly = true)
+    public BatchResult<StudentView> getStudentsByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        if (requestedIds.size() > MAX_PAGE_SIZE) {
+            throw new BadRequestException("At most " + MAX_PAGE_SIZE + " IDs can be requested at once");
+        }
+        if (requestedIds.isEmpty()) {
+            return new BatchResult<>(List.of(), List.of());
+        }
+
+        Map<Long, StudentView> viewsById = loadViews(requestedIds);
+
+        List<StudentView> items = new ArrayList<>(viewsById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            StudentView view = viewsById.get(id);
+            if (view != null) {
+                items.add(view);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchResult<>(items, missingIds);
+    }
+
+    /**
+     * Get student by ID, loading associations according to the fetch plan
+     */
+    @Transactional(readOnly = true)
+    public Student getStudentById(Long id, StudentFetchPlan plan) {
+        return (switch (plan) {
+            case SUMMARY -> studentRepository.findWithSummaryGraphById(id);
+            case FULL -> studentRepository.findWithFullGraphById(id);
+        }).orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+    }
+
+    /**
+     * Versions of the student and everything its response embeds, read without loading the student
+     */
+    @Transactional(readOnly = true)
+    public StudentVersionStamp getStudentVersionStamp(Long id) {
+        return studentRepository.findVersionStampById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
     }
 
     /**
-     * Create or update student with all relationships
-     * FIXED VERSION with proper validation and cascade handling
+     * Create or update student with all relationships.
+     * Course links are diffed against the current set so only changed
+     * student_course rows are written, new course IDs are validated with a
+     * single cache-first lookup, and everything is flushed once at commit.
      */
     @Transactional
     public Student saveStudent(Student student, Long departmentId, Set<Long> courseIds, StudentProfile profileData) {
-        
-        // Step 1: Handle Department (ManyToOne)
+
+        // Step 1: Handle Department (ManyToOne) - only look it up when it changes
         if (departmentId != null) {
-            Department department = departmentRepository.findById(departmentId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + departmentId));
-            student.setDepartment(department);
+            Department current = student.getDepartment();
+            if (current == null || !departmentId.equals(current.getId())) {
+                Department department = departmentRepository.findById(departmentId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + departmentId));
+                student.setDepartment(department);
+            }
         } else {
             student.setDepartment(null);
         }
@@ -75,57 +322,41 @@ public class StudentService {
             profile.setPhone(profileData.getPhone());
         }
 
-        // Step 3: IMPORTANT - Remove all existing course relationships first
-        // This must be done BEFORE saving if the student already exists
-        if (student.getId() != null) {
-            // For existing students, we need to clear the courses and save first
-            Student existingStudent = studentRepository.findById(student.getId()).orElse(null);
-            if (existingStudent != null) {
-                existingStudent.getCourses().clear();
-                studentRepository.saveAndFlush(existingStudent);
+        // Step 3: Diff requested course IDs against the current links
+        Set<Long> requestedIds = courseIds != null ? courseIds : Set.of();
+        Set<Long> idsToAdd = new HashSet<>(requestedIds);
+        Set<Long> idsToRemove = new HashSet<>();
+        for (Course course : student.getCourses()) {
+            idsToAdd.remove(course.getId());
+            if (!requestedIds.contains(course.getId())) {
+                idsToRemove.add(course.getId());
             }
         }
-        
-        // Clear the courses in the current student object as well
-        student.getCourses().clear();
 
-        // Step 4: Save the student WITHOUT courses first to get/ensure ID
-        // This is CRITICAL - the student must be persisted before adding ManyToMany relationships
-        student = studentRepository.saveAndFlush(student);
-        
-        // At this point, student.getId() should NOT be null
-        if (student.getId() == null) {
-            throw new RuntimeException("Failed to persist student - ID is still null");
-        }
-
-        // Step 5: Now handle Courses (ManyToMany) - AFTER the student has been persisted
-        if (courseIds != null && !courseIds.isEmpty()) {
-            // Validate that all courses exist
-            for (Long courseId : courseIds) {
-                if (!courseRepository.existsById(courseId)) {
-                    throw new ResourceNotFoundException("Course not found with id: " + courseId);
-                }
-            }
-            
-            // Fetch the courses
-            List<Course> courses = courseRepository.findAllById(courseIds);
-            
-            // Double-check we got all courses
-            if (courses.size() != courseIds.size()) {
-                throw new ResourceNotFoundException("Some course IDs were not found. Requested: " 
-                    + courseIds.size() + ", Found: " + courses.size());
+        // Step 4: Validate and load only the newly linked courses, from the
+        // second-level cache where possible and in one query for the rest
+        List<Course> coursesToAdd = List.of();
+        if (!idsToAdd.isEmpty()) {
+            coursesToAdd = courseRepository.loadAllById(idsToAdd);
+            if (coursesToAdd.size() != idsToAdd.size()) {
+                Set<Long> missingIds = new HashSet<>(idsToAdd);
+                coursesToAdd.forEach(course -> missingIds.remove(course.getId()));
+                throw new ResourceNotFoundException("Course not found with id(s): " + missingIds);
             }
-            
-            // Add each course individually to ensure proper relationship management
-            for (Course course : courses) {
-                student.getCourses().add(course);
-            }
-            
-            // Save the student again to persist the course relationships
-            student = studentRepository.saveAndFlush(student);
         }
 
-        return student;
+        // Step 5: Apply the diff on the owning side; Hibernate writes one
+        // insert or delete per changed student_course row at flush time
+        student.getCourses().removeIf(course -> !requestedIds.contains(course.getId()));
+        student.getCourses().addAll(coursesToAdd);
+
+        // Step 6: Adjust the per-course enrollment counters in the same transaction
+        enrollmentCounterService.recordEnrollmentChanges(idsToAdd, idsToRemove);
+
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentsChangedEvent(Set.of(saved.getId())));
+        dataVersions.bump(DataSet.STUDENTS);
+        return saved;
     }
 
     /**
@@ -144,6 +375,47 @@ public class StudentService {
         return saveStudent(existingStudent, departmentId, courseIds, profileData);
     }
 
+    /**
+     * Update existing student from a REST request body
+     */
+    @Transactional
+    public Student updateStudent(Long id, StudentApiRequestDto request) {
+        Student studentData = new Student(request.getName(), request.getEmail());
+
+        StudentProfile profileData = null;
+        if (request.getAddress() != null || request.getPhone() != null) {
+            profileData = new StudentProfile(request.getAddress(), request.getPhone());
+        }
+
+        return updateStudent(id, studentData, request.getDepartmentId(), request.getCourseIds(), profileData);
+    }
+
+    /**
+     * Update existing student from a REST request body, provided the student
+     * as loaded by this transaction passes the precondition (typically the
+     * client's If-Match); otherwise throws PreconditionFailedException.
+     * The student is read with an optimistic lock, so an update committed by
+     * someone else after the check fails this one with an
+     * OptimisticLockingFailureException instead of being overwritten.
+     */
+    @Transactional
+    public Student updateStudent(Long id, StudentApiRequestDto request,
+                                 Predicate<StudentVersionStamp> precondition) {
+        Student existingStudent = studentRepository.findWithFullGraphForUpdateById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+        if (!precondition.test(versionStampOf(existingStudent))) {
+            throw new PreconditionFailedException("Student " + id + " was modified since it was read");
+        }
+
+        existingStudent.setName(request.getName());
+        existingStudent.setEmail(request.getEmail());
+        StudentProfile profileData = null;
+        if (request.getAddress() != null || request.getPhone() != null) {
+            profileData = new StudentProfile(request.getAddress(), request.getPhone());
+        }
+        return saveStudent(existingStudent, request.getDepartmentId(), request.getCourseIds(), profileData);
+    }
+
     /**
      * Delete student
      */
@@ -152,16 +424,67 @@ public class StudentService {
         if (!studentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
-        
-        // Get the student to clear relationships first
-        Student student = studentRepository.findById(id).orElse(null);
-        if (student != null) {
-            // Clear all courses to remove join table entries
-            student.getCourses().clear();
-            studentRepository.saveAndFlush(student);
+        removeStudents(List.of(id));
+    }
+
+    /**
+     * Delete several students without loading them: a handful of set-based
+     * statements per BULK_CHUNK_SIZE students. IDs that do not exist are
+     * reported instead of failing the batch. At most MAX_BULK_IDS IDs per call.
+     */
+    @Transactional
+    public BulkChangeResult deleteStudents(Collection<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        if (requestedIds.size() > MAX_BULK_IDS) {
+            throw new BadRequestException("At most " + MAX_BULK_IDS + " students can be deleted at once");
         }
-        
-        studentRepository.deleteById(id);
+        List<Long> existingIds = new ArrayList<>(requestedIds.size());
+        for (List<Long> chunk : chunks(List.copyOf(requestedIds))) {
+            existingIds.addAll(studentRepository.findExistingIds(chunk));
+        }
+        removeStudents(existingIds);
+
+        Set<Long> missingIds = new LinkedHashSet<>(requestedIds);
+        existingIds.forEach(missingIds::remove);
+        return new BulkChangeResult(existingIds.size(), List.copyOf(missingIds));
+    }
+
+    /**
+     * Delete every student of the department; the department itself is kept
+     */
+    @Transactional
+    public BulkChangeResult deleteStudentsOfDepartment(Long departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with id: " + departmentId);
+        }
+        List<Long> ids = studentRepository.findIdsByDepartmentId(departmentId);
+        removeStudents(ids);
+        return new BulkChangeResult(ids.size(), List.of());
+    }
+
+    /**
+     * Move every student of one department to another, with one UPDATE per
+     * BULK_CHUNK_SIZE students
+     */
+    @Transactional
+    public BulkChangeResult moveStudents(Long fromDepartmentId, Long toDepartmentId) {
+        if (fromDepartmentId.equals(toDepartmentId)) {
+            throw new BadRequestException("Students are already in department " + toDepartmentId);
+        }
+        if (!departmentRepository.existsById(fromDepartmentId)) {
+            throw new ResourceNotFoundException("Department not found with id: " + fromDepartmentId);
+        }
+        Department target = departmentRepository.findById(toDepartmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + toDepartmentId));
+
+        List<Long> ids = studentRepository.findIdsByDepartmentId(fromDepartmentId);
+        for (List<Long> chunk : chunks(ids)) {
+            studentRepository.moveToDepartment(chunk, target);
+        }
+        // Department names are indexed with their students
+        eventPublisher.publishEvent(new StudentsChangedEvent(ids));
+        dataVersions.bump(DataSet.STUDENTS);
+        return new BulkChangeResult(ids.size(), List.of());
     }
 
     /**
@@ -170,4 +493,114 @@ public class StudentService {
     public boolean emailExists(String email) {
         return studentRepository.existsByEmail(email);
     }
+
+    /**
+     * Check if email belongs to a student other than the given one
+     */
+    public boolean emailUsedByOtherStudent(String email, Long studentId) {
+        return studentRepository.existsByEmailAndIdNot(email, studentId);
+    }
+
+    /**
+     * Delete existing students with their enrollments and profiles. Enrollment
+     * counters are adjusted from one grouped count per chunk, and the bulk
+     * statements clear the persistence context, so entities loaded earlier in
+     * the transaction are detached afterwards.
+     */
+    private void removeStudents(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> withdrawals = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            for (CourseEnrollmentCount count : studentRepository.countEnrollmentsByCourseForStudents(chunk)) {
+                withdrawals.merge(count.getCourseId(), -count.getEnrollmentCount(), Long::sum);
+            }
+            List<Long> profileIds = studentRepository.findProfileIdsByStudentIds(chunk);
+            studentRepository.deleteAllByIdIn(chunk);
+            if (!profileIds.isEmpty()) {
+                studentRepository.deleteProfilesByIdIn(profileIds);
+            }
+        }
+        enrollmentCounterService.applyDeltas(withdrawals);
+        eventPublisher.publishEvent(new StudentsDeletedEvent(ids));
+        dataVersions.bump(DataSet.STUDENTS);
+    }
+
+    // The versions findVersionStampById reads, taken from a loaded student
+    private static StudentVersionStamp versionStampOf(Student student) {
+        long version = student.getVersion();
+        Long profileVersion = student.getProfile() != null ? student.getProfile().getVersion() : null;
+        Long departmentVersion = student.getDepartment() != null ? student.getDepartment().getVersion() : null;
+        Long courseVersionSum = student.getCourses().isEmpty() ? null
+                : student.getCourses().stream().mapToLong(Course::getVersion).sum();
+        return new StudentVersionStamp() {
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public Long getProfileVersion() {
+                return profileVersion;
+            }
+
+            @Override
+            public Long getDepartmentVersion() {
+                return departmentVersion;
+            }
+
+            @Override
+            public Long getCourseVersionSum() {
+                return courseVersionSum;
+            }
+        };
+    }
+
+    // Keeps IN lists well below database parameter limits
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    // One joined query; a student enrolled in n courses arrives as n rows
+    private Map<Long, StudentView> loadViews(Collection<Long> ids) {
+        Map<Long, StudentView> viewsById = new HashMap<>();
+        for (StudentView row : studentRepository.findViewRowsByIds(ids)) {
+            StudentView view = viewsById.putIfAbsent(row.id(), row);
+            if (view != null) {
+                view.courses().addAll(row.courses());
+            }
+        }
+        return viewsById;
+    }
+
+    // Cursors are opaque to clients: base64url of the last returned id
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+        if (!decoded.startsWith(CURSOR_PREFIX)) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        try {
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,387 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.StudentApiRequestDto;
+import com.example.demo.dto.WriteTicket;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Optional write-behind queue for student updates (app.write-behind.enabled).
+ *
+ * Each student has at most one pending update. A newer update for the same
+ * student replaces the pending one (updates are full replacements), so a burst
+ * of edits becomes a single write. An update is flushed once it has waited
+ * flush-delay; workers take up to max-batch students at a time and write them
+ * in one transaction. If that transaction fails, the batch is retried one
+ * student per transaction so a bad update only fails its own tickets.
+ *
+ * Per-student order is preserved: a student is never in two batches at once,
+ * and updates that arrive while it is being written wait for the next batch.
+ * On shutdown the delay is skipped and everything pending is written before
+ * the workers stop.
+ */
+@Service
+public class StudentWriteBehindService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentWriteBehindService.class);
+
+    private final StudentService studentService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int workerCount;
+    private final long flushDelayNanos;
+    private final int maxBatch;
+    private final int maxPending;
+    private final Duration shutdownTimeout;
+    private final Cache<String, Ticket> tickets;
+    private final Counter coalesced;
+    private final ExecutorService workers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Guarded by lock. Insertion order is queue order: replacing a pending
+    // update keeps the student's place, so it is flushed as early as before.
+    private final LinkedHashMap<Long, PendingUpdate> pending = new LinkedHashMap<>();
+    private final Set<Long> inFlight = new HashSet<>();
+    private boolean shuttingDown;
+
+    public StudentWriteBehindService(StudentService studentService,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${app.write-behind.workers:2}") int workerCount,
+                                     @Value("${app.write-behind.flush-delay:200ms}") Duration flushDelay,
+                                     @Value("${app.write-behind.max-batch:100}") int maxBatch,
+                                     @Value("${app.write-behind.max-pending:10000}") int maxPending,
+                                     @Value("${app.write-behind.ticket-ttl:10m}") Duration ticketTtl,
+                                     @Value("${app.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.studentService = studentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.workerCount = Math.max(1, workerCount);
+        this.flushDelayNanos = flushDelay.toNanos();
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxPending = maxPending;
+        this.shutdownTimeout = shutdownTimeout;
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ticketTtl)
+                .build();
+        this.coalesced = Counter.builder("students.write_behind.coalesced")
+                .description("Queued student updates replaced by a newer update before being written")
+                .register(meterRegistry);
+        Gauge.builder("students.write_behind.pending", this, StudentWriteBehindService::pendingCount)
+                .description("Students with an update waiting to be written")
+                .register(meterRegistry);
+        this.workers = enabled
+                ? Executors.newFixedThreadPool(this.workerCount, new CustomizableThreadFactory("student-write-behind-"))
+                : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            for (int i = 0; i < workerCount; i++) {
+                workers.execute(this::runWorker);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a full update of the student and return its ticket right away.
+     * Validation that needs the database (unknown department or course,
+     * duplicate email) happens when the update is written and is reported on
+     * the ticket. Throws TooManyRequestsException when max-pending students
+     * already have updates waiting.
+     */
+    public WriteTicket submit(Long studentId, StudentApiRequestDto request) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind is disabled");
+        }
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), studentId);
+
+        lock.lock();
+        try {
+            if (shuttingDown) {
+                throw new TooManyRequestsException("Shutting down; student updates are no longer queued");
+            }
+            PendingUpdate update = pending.get(studentId);
+            if (update == null) {
+                if (pending.size() >= maxPending) {
+                    throw new TooManyRequestsException("Too many student updates waiting to be written; retry shortly");
+                }
+                update = new PendingUpdate(System.nanoTime());
+                pending.put(studentId, update);
+                changed.signalAll();
+            } else {
+                coalesced.increment();
+            }
+            update.request = request;
+            update.tickets.add(ticket);
+        } finally {
+            lock.unlock();
+        }
+
+        tickets.put(ticket.id, ticket);
+        return ticket.toView();
+    }
+
+    /**
+     * Current state of the ticket, waiting up to timeout for it to leave PENDING
+     */
+    public WriteTicket getTicket(String ticketId, Duration timeout) {
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Update ticket not found: " + ticketId);
+        }
+        if (!timeout.isZero() && !timeout.isNegative()) {
+            try {
+                ticket.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Reported through the ticket status
+            }
+        }
+        return ticket.toView();
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runWorker() {
+        List<Map.Entry<Long, PendingUpdate>> batch;
+        while ((batch = takeBatch()) != null) {
+            try {
+                flush(batch);
+            } finally {
+                lock.lock();
+                try {
+                    batch.forEach(entry -> inFlight.remove(entry.getKey()));
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Block until some updates are due, then remove up to maxBatch of them from
+     * the queue and mark their students in flight. Returns null once shutting
+     * down with nothing left to write.
+     */
+    private List<Map.Entry<Long, PendingUpdate>> takeBatch() {
+        lock.lock();
+        try {
+            while (true) {
+                if (pending.isEmpty() && shuttingDown) {
+                    return null;
+                }
+
+                List<Map.Entry<Long, PendingUpdate>> batch = new ArrayList<>();
+                long waitNanos = 0;
+                long now = System.nanoTime();
+                Iterator<Map.Entry<Long, PendingUpdate>> it = pending.entrySet().iterator();
+                while (it.hasNext() && batch.size() < maxBatch) {
+                    Map.Entry<Long, PendingUpdate> entry = it.next();
+                    if (inFlight.contains(entry.getKey())) {
+                        continue;
+                    }
+                    long age = now - entry.getValue().queuedAt;
+                    if (!shuttingDown && age < flushDelayNanos) {
+                        // Queue order is age order, so nothing after this is due either
+                        waitNanos = flushDelayNanos - age;
+                        break;
+                    }
+                    it.remove();
+                    inFlight.add(entry.getKey());
+                    batch.add(entry);
+                }
+
+                if (!batch.isEmpty()) {
+                    return batch;
+                }
+                if (waitNanos > 0) {
+                    changed.awaitNanos(waitNanos);
+                } else {
+                    changed.await();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(List<Map.Entry<Long, PendingUpdate>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::apply));
+            batch.forEach(entry -> entry.getValue().complete(null));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            log.debug("Write-behind batch of {} students failed, retrying one by one", batch.size(), e);
+        }
+
+        for (Map.Entry<Long, PendingUpdate> entry : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(entry));
+                entry.getValue().complete(null);
+            } catch (RuntimeException e) {
+                fail(entry, e);
+            }
+        }
+    }
+
+    private void apply(Map.Entry<Long, PendingUpdate> entry) {
+        studentService.updateStudent(entry.getKey(), entry.getValue().request);
+    }
+
+    private void fail(Map.Entry<Long, PendingUpdate> entry, RuntimeException e) {
+        log.warn("Queued update of student {} failed", entry.getKey(), e);
+        entry.getValue().complete(clientMessage(entry.getKey(), entry.getValue().request, e));
+    }
+
+    // Tickets are readable by any USER; database messages name tables, constraints and SQL
+    private String clientMessage(Long studentId, StudentApiRequestDto request, RuntimeException e) {
+        if (e instanceof ResourceNotFoundException || e instanceof BadRequestException) {
+            return e.getMessage();
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return "The student was modified concurrently; reload it and retry";
+        }
+        if (e instanceof DataIntegrityViolationException && emailTaken(studentId, request)) {
+            return "Email already exists";
+        }
+        return "Update failed";
+    }
+
+    // Runs on a worker after a failed write; a failing lookup must not leave the tickets pending
+    private boolean emailTaken(Long studentId, StudentApiRequestDto request) {
+        try {
+            return studentService.emailUsedByOtherStudent(request.getEmail(), studentId);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Write everything still queued, then stop the workers
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            shuttingDown = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Write-behind workers did not finish within {}; {} student updates were not written",
+                    shutdownTimeout, pendingCount());
+            workers.shutdownNow();
+        }
+    }
+
+    private static final class PendingUpdate {
+
+        private final long queuedAt;
+        private final List<Ticket> tickets = new ArrayList<>();
+        private StudentApiRequestDto request;
+
+        private PendingUpdate(long queuedAt) {
+            this.queuedAt = queuedAt;
+        }
+
+        // Every ticket merged into this update shares its outcome; error is null on success
+        private void complete(String error) {
+            for (Ticket ticket : tickets) {
+                ticket.result.complete(error);
+            }
+        }
+    }
+
+    private static final class Ticket {
+
+        private final String id;
+        private final Long studentId;
+        // Completes with the client-facing error, or null once applied
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        private Ticket(String id, Long studentId) {
+            this.id = id;
+            this.studentId = studentId;
+        }
+
+        private WriteTicket toView() {
+            if (!result.isDone()) {
+                return new WriteTicket(id, studentId, WriteTicket.Status.PENDING, null);
+            }
+            String error = result.join();
+            if (error == null) {
+                return new WriteTicket(id, studentId, WriteTicket.Status.APPLIED, null);
+            }
+            return new WriteTicket(id, studentId, WriteTicket.Status.FAILED, error);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long keys to int values without boxing.
+ * Uses linear probing and backward-shift deletion. Not thread-safe.
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int get(long key) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return values[slot];
+            }
+            if (existing == EMPTY) {
+                return missingValue;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != missingValue;
+    }
+
+    /**
+     * @return the previous value, or the missing value if there was none
+     */
+    public int put(long key, int value) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long existing = keys[slot];
+            if (existing == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (existing == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeAt) {
+                    rehash(keys.length << 1);
+                }
+                return missingValue;
+            }
+        }
+    }
+
+    /**
+     * @return the removed value, or the missing value if the key was absent
+     */
+    public int remove(long key) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return missingValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        size--;
+
+        // Shift following entries back so probe chains stay unbroken
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visit every entry, in no particular order. The map must not be changed meanwhile.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be used as a key");
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.config;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Verifies that only health and info are public among the actuator endpoints
+ */
+@SpringBootTest
+class ActuatorSecurityTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+    }
+
+    @Test
+    void healthAndInfoArePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+
+    @Test
+    void metricsNeedAdmin() throws Exception {
+        for (String path : new String[] {"/actuator/metrics", "/actuator/metrics/http.server.requests", "/actuator/prometheus"}) {
+            mockMvc.perform(get(path)).andExpect(status().isForbidden());
+            mockMvc.perform(get(path).with(user("user").roles("USER"))).andExpect(status().isForbidden());
+        }
+        mockMvc.perform(get("/actuator/metrics").with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+    }
+}
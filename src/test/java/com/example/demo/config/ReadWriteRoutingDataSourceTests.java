@@ -0,0 +1,100 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each holds a
+ * marker row naming itself, so a query shows where it was routed.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private static final Duration WINDOW = Duration.ofMillis(300);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("routing_primary");
+        DataSource replica = database("routing_replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, WINDOW));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+        assertThat(markerIn(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimaryWithinTheWindow() throws InterruptedException {
+        authenticate("ada");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET touched = touched + 1"));
+        assertThat(markerIn(readOnly)).isEqualTo("primary");
+
+        authenticate("bob");
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+
+        authenticate("ada");
+        Thread.sleep(WINDOW.toMillis() * 2);
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReadsToThePrimary() {
+        authenticate("ada");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET touched = touched + 1");
+            status.setRollbackOnly();
+        });
+        assertThat(markerIn(readOnly)).isEqualTo("replica");
+    }
+
+    // Name of the database the transaction was routed to
+    private String markerIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20), touched INT)");
+        jdbc.update("INSERT INTO marker VALUES (?, 0)", name.substring("routing_".length()));
+        return dataSource;
+    }
+}
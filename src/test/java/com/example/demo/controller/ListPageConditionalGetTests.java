@@ -0,0 +1,87 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.demo.dto.StudentApiRequestDto;
+import com.example.demo.entity.Student;
+import com.example.demo.service.StudentService;
+
+/**
+ * Verifies the ETag and 304 handling of the cached HTML list pages, and that
+ * a write invalidates the cached table.
+ */
+@SpringBootTest
+class ListPageConditionalGetTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private StudentService studentService;
+
+    private MockMvc mockMvc;
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        studentId = studentService.saveStudent(
+                new Student("Grace", "grace.listpage@example.com"), null, null, null).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentService.deleteStudent(studentId);
+    }
+
+    @Test
+    void repeatedGetWithETagAnswersNotModified() throws Exception {
+        String etag = currentETag();
+
+        mockMvc.perform(get("/students").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void studentWriteChangesTheETag() throws Exception {
+        String etag = currentETag();
+
+        StudentApiRequestDto request = new StudentApiRequestDto();
+        request.setName("Grace Hopper");
+        request.setEmail("grace.listpage@example.com");
+        studentService.updateStudent(studentId, request);
+
+        String newETag = mockMvc.perform(get("/students").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Grace Hopper")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotNull().isNotEqualTo(etag);
+    }
+
+    private String currentETag() throws Exception {
+        return mockMvc.perform(get("/students"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
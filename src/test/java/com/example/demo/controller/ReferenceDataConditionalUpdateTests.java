@@ -0,0 +1,113 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.service.CourseService;
+import com.example.demo.service.DepartmentService;
+
+/**
+ * Verifies If-Match on course and department updates, including an update
+ * that races another one after its If-Match check.
+ */
+@SpringBootTest
+class ReferenceDataConditionalUpdateTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private MockMvc mockMvc;
+    private Long courseId;
+    private Long departmentId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        courseId = courseService.saveCourse(new Course("Optics")).getId();
+        departmentId = departmentService.saveDepartment(new Department("Physics")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseService.deleteCourse(courseId);
+        departmentService.deleteDepartment(departmentId);
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        String courseETag = currentETag("/api/courses/{id}", courseId);
+        String departmentETag = currentETag("/api/departments/{id}", departmentId);
+        courseService.updateCourse(courseId, new Course("Wave Optics"));
+        departmentService.updateDepartment(departmentId, new Department("Applied Physics"));
+
+        update("/api/courses/{id}", courseId, courseETag, "{\"title\":\"Quantum Optics\"}")
+                .andExpect(status().isPreconditionFailed());
+        update("/api/departments/{id}", departmentId, departmentETag, "{\"name\":\"Astrophysics\"}")
+                .andExpect(status().isPreconditionFailed());
+        update("/api/courses/{id}", courseId, currentETag("/api/courses/{id}", courseId), "{\"title\":\"Quantum Optics\"}")
+                .andExpect(status().isOk());
+
+        assertThat(courseService.getCourseById(courseId).getTitle()).isEqualTo("Quantum Optics");
+        assertThat(departmentService.getDepartmentById(departmentId).getName()).isEqualTo("Applied Physics");
+    }
+
+    @Test
+    void updateCommittedAfterTheCheckIsNotOverwritten() {
+        // Another request updates the row after this one passed its If-Match check
+        assertThatThrownBy(() -> courseService.updateCourse(courseId, new Course("Quantum Optics"), version -> {
+            CompletableFuture.runAsync(() -> courseService.updateCourse(courseId, new Course("Wave Optics"))).join();
+            return true;
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> departmentService.updateDepartment(departmentId, new Department("Astrophysics"), version -> {
+            CompletableFuture.runAsync(() -> departmentService.updateDepartment(departmentId, new Department("Applied Physics"))).join();
+            return true;
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(courseService.getCourseById(courseId).getTitle()).isEqualTo("Wave Optics");
+        assertThat(departmentService.getDepartmentById(departmentId).getName()).isEqualTo("Applied Physics");
+    }
+
+    private String currentETag(String path, Long id) throws Exception {
+        return mockMvc.perform(get(path, id).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions update(String path, Long id, String ifMatch, String body)
+            throws Exception {
+        return mockMvc.perform(put(path, id).with(user("admin").roles("ADMIN"))
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
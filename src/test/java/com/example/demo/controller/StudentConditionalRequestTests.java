@@ -0,0 +1,128 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.demo.dto.StudentApiRequestDto;
+import com.example.demo.entity.Student;
+import com.example.demo.service.StudentService;
+
+/**
+ * Verifies If-None-Match and If-Match handling of the student endpoints,
+ * including an update that races another one after its If-Match check.
+ */
+@SpringBootTest
+class StudentConditionalRequestTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private StudentService studentService;
+
+    private MockMvc mockMvc;
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        studentId = studentService.saveStudent(
+                new Student("Ada", "ada.conditional@example.com"), null, null, null).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentService.deleteStudent(studentId);
+    }
+
+    @Test
+    void matchingIfNoneMatchAnswersNotModified() throws Exception {
+        String etag = currentETag();
+
+        mockMvc.perform(get("/api/students/{id}", studentId).with(user("user").roles("USER"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/students/{id}", studentId).with(user("user").roles("USER"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void matchingIfMatchUpdates() throws Exception {
+        String etag = currentETag();
+
+        String newETag = update(etag, "Ada Lovelace")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(newETag).isNotEqualTo(etag).isEqualTo(currentETag());
+        assertThat(studentService.getStudentView(studentId).name()).isEqualTo("Ada Lovelace");
+    }
+
+    @Test
+    void staleOrWeakIfMatchIsRejected() throws Exception {
+        String staleETag = currentETag();
+        studentService.updateStudent(studentId, request("Ada King"));
+
+        update(staleETag, "Ada Lovelace").andExpect(status().isPreconditionFailed());
+        // If-Match uses strong comparison
+        update("W/" + currentETag(), "Ada Lovelace").andExpect(status().isPreconditionFailed());
+
+        assertThat(studentService.getStudentView(studentId).name()).isEqualTo("Ada King");
+    }
+
+    @Test
+    void updateCommittedAfterTheCheckIsNotOverwritten() {
+        // Another request updates the student after this one passed its If-Match check
+        assertThatThrownBy(() -> studentService.updateStudent(studentId, request("Ada Lovelace"), stamp -> {
+            CompletableFuture.runAsync(() -> studentService.updateStudent(studentId, request("Ada King"))).join();
+            return true;
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(studentService.getStudentView(studentId).name()).isEqualTo("Ada King");
+    }
+
+    private String currentETag() throws Exception {
+        return mockMvc.perform(get("/api/students/{id}", studentId).with(user("user").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions update(String ifMatch, String name) throws Exception {
+        return mockMvc.perform(put("/api/students/{id}", studentId).with(user("user").roles("USER"))
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"email\":\"ada.conditional@example.com\"}"));
+    }
+
+    private static StudentApiRequestDto request(String name) {
+        StudentApiRequestDto request = new StudentApiRequestDto();
+        request.setName(name);
+        request.setEmail("ada.conditional@example.com");
+        return request;
+    }
+}
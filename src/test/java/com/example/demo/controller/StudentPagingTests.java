@@ -0,0 +1,135 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Student;
+import com.example.demo.service.CourseService;
+import com.example.demo.service.StudentService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Verifies keyset paging of GET /api/students: cursor chaining to the last
+ * page, sparse fields, and 400 for a tampered cursor or an unknown field.
+ */
+@SpringBootTest
+class StudentPagingTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+    private Long courseId;
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        courseId = courseService.saveCourse(new Course("Logic")).getId();
+        studentIds = new ArrayList<>();
+        for (String name : List.of("Ada", "Bob", "Cid", "Dan", "Eve")) {
+            Set<Long> courses = name.equals("Cid") ? Set.of(courseId) : Set.of();
+            studentIds.add(studentService.saveStudent(
+                    new Student(name, name.toLowerCase() + ".paging@example.com"), null, courses, null).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentIds.forEach(studentService::deleteStudent);
+        courseService.deleteCourse(courseId);
+    }
+
+    @Test
+    void cursorsChainToTheLastPage() throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            Map<String, Object> page = page("limit=2&fields=id,name,courses" + (cursor != null ? "&cursor=" + cursor : ""));
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> pageItems = (List<Map<String, Object>>) page.get("items");
+            items.addAll(pageItems);
+            pageSizes.add(pageItems.size());
+            cursor = (String) page.get("nextCursor");
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+        assertThat(items).extracting(item -> ((Number) item.get("id")).longValue())
+                .containsExactlyElementsOf(studentIds);
+        // Only the requested fields, courses included when asked for
+        assertThat(items).allSatisfy(item -> assertThat(item).containsOnlyKeys("id", "name", "courses"));
+        assertThat(items.get(2)).containsEntry("name", "Cid")
+                .containsEntry("courses", List.of(Map.of("id", courseId.intValue(), "title", "Logic")));
+        assertThat(items.get(0)).containsEntry("courses", List.of());
+    }
+
+    @Test
+    void sparseFieldsLeaveTheRestOut() throws Exception {
+        Map<String, Object> page = page("limit=500&fields=email");
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> items = (List<Map<String, Object>>) page.get("items");
+        assertThat(items).extracting(item -> item.get("email"))
+                .contains("ada.paging@example.com", "eve.paging@example.com");
+        assertThat(items).allSatisfy(item -> assertThat(item).containsOnlyKeys("email"));
+        assertThat(page.get("nextCursor")).isNull();
+    }
+
+    @Test
+    void tamperedCursorOrUnknownFieldIsBadRequest() throws Exception {
+        for (String cursor : List.of("not*base64", encode("offset:5"), encode("id:five"))) {
+            mockMvc.perform(get("/api/students").param("cursor", cursor).with(user("user").roles("USER")))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid cursor: " + cursor));
+        }
+        mockMvc.perform(get("/api/students").param("fields", "id,password").with(user("user").roles("USER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown student field: password"));
+    }
+
+    private Map<String, Object> page(String query) throws Exception {
+        String body = mockMvc.perform(get("/api/students?" + query).with(user("user").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<>() {
+        });
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
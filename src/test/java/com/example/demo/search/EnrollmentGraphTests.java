@@ -0,0 +1,80 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Co-enrollment and course pair queries, and incremental updates of the enrollment graph
+ */
+class EnrollmentGraphTests {
+
+    private EnrollmentGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new EnrollmentGraph();
+        graph.put(1, new long[] {10, 20, 30});
+        graph.put(2, new long[] {20, 10});
+        graph.put(3, new long[] {30, 40});
+        graph.put(4, new long[] {10, 20, 30, 10});
+    }
+
+    @Test
+    void ranksStudentsBySharedCourses() {
+        assertThat(graph.coEnrolled(1, 1, 10)).containsExactly(
+                new EnrollmentGraph.CoEnrollment(4, 3),
+                new EnrollmentGraph.CoEnrollment(2, 2),
+                new EnrollmentGraph.CoEnrollment(3, 1));
+        assertThat(graph.coEnrolled(1, 2, 1)).containsExactly(new EnrollmentGraph.CoEnrollment(4, 3));
+        assertThat(graph.coEnrolled(99, 1, 10)).isEmpty();
+    }
+
+    @Test
+    void countsCoursePairs() {
+        assertThat(graph.topPairs(3)).containsExactly(
+                new EnrollmentGraph.Pair(10, 20, 3),
+                new EnrollmentGraph.Pair(10, 30, 2),
+                new EnrollmentGraph.Pair(20, 30, 2));
+    }
+
+    @Test
+    void updatesReplacePreviousCourses() {
+        graph.put(4, new long[] {40, 30});
+        assertThat(graph.remove(2)).isTrue();
+        assertThat(graph.remove(2)).isFalse();
+
+        assertThat(graph.topPairs(10)).containsExactly(
+                new EnrollmentGraph.Pair(30, 40, 2),
+                new EnrollmentGraph.Pair(10, 20, 1),
+                new EnrollmentGraph.Pair(10, 30, 1),
+                new EnrollmentGraph.Pair(20, 30, 1));
+        assertThat(graph.coEnrolled(3, 1, 10)).containsExactly(
+                new EnrollmentGraph.CoEnrollment(4, 2),
+                new EnrollmentGraph.CoEnrollment(1, 1));
+
+        // A student with no courses leaves the graph; its slot is reused
+        graph.put(1, new long[0]);
+        graph.put(5, new long[] {10, 40});
+        assertThat(graph.size()).isEqualTo(3);
+        assertThat(graph.coEnrolled(5, 1, 10)).containsExactly(
+                new EnrollmentGraph.CoEnrollment(3, 1),
+                new EnrollmentGraph.CoEnrollment(4, 1));
+        assertThat(graph.topPairs(1)).containsExactly(new EnrollmentGraph.Pair(30, 40, 2));
+    }
+
+    @Test
+    void limitKeepsBestResults() {
+        for (long student = 100; student < 200; student++) {
+            graph.put(student, new long[] {50, 60});
+        }
+        List<EnrollmentGraph.CoEnrollment> top = graph.coEnrolled(150, 2, 5);
+
+        assertThat(top).extracting(EnrollmentGraph.CoEnrollment::studentId)
+                .containsExactly(100L, 101L, 102L, 103L, 104L);
+        assertThat(graph.topPairs(1)).containsExactly(new EnrollmentGraph.Pair(50, 60, 100));
+    }
+}
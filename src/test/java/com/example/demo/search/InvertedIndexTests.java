@@ -0,0 +1,68 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Matching, ranking and incremental updates of the student search index
+ */
+class InvertedIndexTests {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, List.of("Jöhn Smith", "john.smith@example.com", "Computer Science", "Algorithms"));
+        index.put(2, List.of("Jane Smithers", "jane@example.com", "Mathematics", "Linear Algebra"));
+        index.put(3, List.of("Bob Jones", "bob@example.com", "Computer Science", "Databases"));
+    }
+
+    @Test
+    void ranksExactAbovePrefixAboveFuzzy() {
+        index.put(4, List.of("Anna Smyth", "anna@example.com", "Physics"));
+
+        assertThat(ids(index.search("smith", 10))).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertThat(ids(index.search("computer jones", 10))).containsExactly(3L);
+        assertThat(ids(index.search("JOHN algorithms", 10))).containsExactly(1L);
+        assertThat(index.search("jones mathematics", 10)).isEmpty();
+    }
+
+    @Test
+    void toleratesOneTypo() {
+        assertThat(ids(index.search("algortihms", 10))).containsExactly(1L);   // transposition
+        assertThat(ids(index.search("databses", 10))).containsExactly(3L);     // deletion
+        assertThat(ids(index.search("mathemmatics", 10))).containsExactly(2L); // insertion
+        assertThat(index.search("dtabses", 10)).isEmpty();                     // two edits
+    }
+
+    @Test
+    void updatesReplacePreviousTerms() {
+        index.put(3, List.of("Bob Jones", "bob@example.com", "Mathematics"));
+
+        assertThat(ids(index.search("databases", 10))).isEmpty();
+        assertThat(ids(index.search("mathematics", 10))).containsExactly(2L, 3L);
+
+        assertThat(index.remove(2)).isTrue();
+        assertThat(ids(index.search("mathematics", 10))).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void limitKeepsBestHits() {
+        assertThat(ids(index.search("example", 2))).containsExactly(1L, 2L);
+        assertThat(index.search("", 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::studentId).toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Token verification with the verified-token cache: repeat verifications are
+ * served from the cache, but never an expired or altered token.
+ */
+class JwtUtilTests {
+
+    private static final UserDetails ADA = User.withUsername("ada").password("unused").roles("USER").build();
+
+    @Test
+    void repeatVerificationIsServedFromTheCache() {
+        JwtUtil jwtUtil = jwtUtil(Duration.ofMinutes(5).toMillis());
+        String token = jwtUtil.generateToken(ADA);
+
+        VerifiedToken first = jwtUtil.verify(token);
+
+        assertThat(first.username()).isEqualTo("ada");
+        assertThat(jwtUtil.verify(token)).isSameAs(first);
+        assertThat(jwtUtil.validateToken(token, ADA)).isTrue();
+    }
+
+    @Test
+    void expiredTokenIsRejectedWhileStillCached() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(1000);
+        String token = jwtUtil.generateToken(ADA);
+        jwtUtil.verify(token);
+
+        // The cache TTL (5m) outlives the token
+        Thread.sleep(1100);
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void alteredTokenIsNotServedFromTheCache() {
+        JwtUtil jwtUtil = jwtUtil(Duration.ofMinutes(5).toMillis());
+        String token = jwtUtil.generateToken(ADA);
+        jwtUtil.verify(token);
+
+        String altered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.verify(altered)).isInstanceOf(JwtException.class);
+    }
+
+    private static JwtUtil jwtUtil(long expirationMillis) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJWTTokenGenerationAndValidationLongEnough");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expirationMillis);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+
+/**
+ * Verifies that a change to a user evicts the cached principal, so the next
+ * request with an existing token sees the user as it is now.
+ */
+@SpringBootTest
+class PrincipalCacheTests {
+
+    private static final String USERNAME = "cached.principal";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        User user = new User(USERNAME, "cached.principal@example.com", passwordEncoder.encode("secret123"));
+        user.addRole("USER");
+        userRepository.save(user);
+        token = jwtUtil.generateToken(new CustomUserDetails(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername(USERNAME).ifPresent(userRepository::delete);
+        principalCache.evictAll();
+    }
+
+    @Test
+    void repeatedRequestsUseTheCachedPrincipal() throws Exception {
+        request().andExpect(status().isOk());
+
+        assertThat(isCached()).isTrue();
+    }
+
+    @Test
+    void disablingTheUserEvictsIt() throws Exception {
+        request().andExpect(status().isOk());
+
+        updateUser(user -> user.setEnabled(false));
+
+        assertThat(isCached()).isFalse();
+        request().andExpect(status().isForbidden());
+    }
+
+    @Test
+    void roleChangeEvictsIt() throws Exception {
+        request().andExpect(status().isOk());
+
+        updateUser(user -> user.getRoles().remove("USER"));
+
+        assertThat(isCached()).isFalse();
+        request().andExpect(status().isForbidden());
+    }
+
+    @Test
+    void passwordChangeEvictsIt() throws Exception {
+        request().andExpect(status().isOk());
+
+        updateUser(user -> user.setPassword(passwordEncoder.encode("changed123")));
+
+        assertThat(isCached()).isFalse();
+        request().andExpect(status().isOk());
+        UserDetails reloaded = principalCache.get(USERNAME, username -> {
+            throw new AssertionError("Expected a cached principal");
+        });
+        assertThat(passwordEncoder.matches("changed123", reloaded.getPassword())).isTrue();
+    }
+
+    private ResultActions request() throws Exception {
+        return mockMvc.perform(get("/api/students").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private void updateUser(Consumer<User> change) {
+        transactionTemplate.executeWithoutResult(status ->
+                change.accept(userRepository.findByUsername(USERNAME).orElseThrow()));
+    }
+
+    // A throwing loader leaves nothing cached on a miss
+    private boolean isCached() {
+        try {
+            principalCache.get(USERNAME, username -> {
+                throw new NotCachedException();
+            });
+            return true;
+        } catch (NotCachedException e) {
+            return false;
+        }
+    }
+
+    private static class NotCachedException extends RuntimeException {
+    }
+}
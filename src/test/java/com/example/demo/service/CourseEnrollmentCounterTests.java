@@ -0,0 +1,163 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.dto.BulkChangeResult;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.entity.Student;
+import com.example.demo.entity.StudentProfile;
+import com.example.demo.repository.CourseEnrollmentCounterRepository;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * Verifies that per-course enrollment counters follow every enrollment write
+ * path and that reconciliation repairs drift.
+ */
+@SpringBootTest
+class CourseEnrollmentCounterTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentBulkImportService studentBulkImportService;
+
+    @Autowired
+    private CourseEnrollmentCounterService counterService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseEnrollmentCounterRepository counterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+    private Course algebra;
+    private Course biology;
+
+    @BeforeEach
+    void setUp() {
+        // Start from consistent counters whatever other tests left behind
+        counterService.reconcile();
+        department = departmentService.saveDepartment(new Department("Science"));
+        algebra = courseService.saveCourse(new Course("Algebra"));
+        biology = courseService.saveCourse(new Course("Biology"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        counterRepository.deleteAll();
+    }
+
+    @Test
+    void studentWritesAdjustCounters() {
+        Student ada = studentService.saveStudent(new Student("Ada", "ada@example.com"),
+                department.getId(), Set.of(algebra.getId(), biology.getId()), null);
+        studentService.saveStudent(new Student("Bob", "bob@example.com"),
+                department.getId(), Set.of(algebra.getId()), null);
+        assertCounts(2, 1);
+
+        studentService.updateStudent(ada.getId(), new Student("Ada", "ada@example.com"),
+                department.getId(), Set.of(biology.getId()), null);
+        assertCounts(1, 1);
+
+        studentService.deleteStudent(ada.getId());
+        assertCounts(1, 0);
+    }
+
+    @Test
+    void bulkImportAndDepartmentDeleteAdjustCounters() throws IOException {
+        String csv = "name,email,address,phone,department,courses\n"
+                + "Ada,ada@example.com,,,Science,Algebra;Biology\n"
+                + "Bob,bob@example.com,,,Science,Algebra\n";
+        studentBulkImportService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), StudentFileFormat.CSV);
+        assertCounts(2, 1);
+
+        departmentService.deleteDepartment(department.getId());
+        assertCounts(0, 0);
+    }
+
+    @Test
+    void bulkDeleteAndMoveAdjustCounters() {
+        Department arts = departmentService.saveDepartment(new Department("Arts"));
+        Student ada = studentService.saveStudent(new Student("Ada", "ada@example.com"),
+                department.getId(), Set.of(algebra.getId(), biology.getId()), new StudentProfile("1 Main St", "555"));
+        Student bob = studentService.saveStudent(new Student("Bob", "bob@example.com"),
+                department.getId(), Set.of(algebra.getId()), null);
+        Student eve = studentService.saveStudent(new Student("Eve", "eve@example.com"),
+                department.getId(), Set.of(biology.getId()), null);
+        assertCounts(2, 2);
+
+        BulkChangeResult moved = studentService.moveStudents(department.getId(), arts.getId());
+        assertThat(moved.getAffected()).isEqualTo(3);
+        assertThat(studentRepository.findIdsByDepartmentId(arts.getId()))
+                .containsExactlyInAnyOrder(ada.getId(), bob.getId(), eve.getId());
+        assertThat(studentRepository.findById(bob.getId()).orElseThrow().getVersion())
+                .isEqualTo(bob.getVersion() + 1);
+        assertCounts(2, 2);
+
+        BulkChangeResult deleted = studentService.deleteStudents(List.of(ada.getId(), bob.getId(), -1L));
+        assertThat(deleted.getAffected()).isEqualTo(2);
+        assertThat(deleted.getMissingIds()).containsExactly(-1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_profiles", Long.class)).isZero();
+        assertCounts(0, 1);
+
+        studentService.deleteStudentsOfDepartment(arts.getId());
+        assertThat(studentRepository.count()).isZero();
+        assertThat(departmentRepository.existsById(arts.getId())).isTrue();
+        assertCounts(0, 0);
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        studentService.saveStudent(new Student("Ada", "ada@example.com"),
+                department.getId(), Set.of(algebra.getId()), null);
+        jdbcTemplate.update("UPDATE course_enrollment_counts SET enrollment_count = 7 WHERE course_id = ?",
+                algebra.getId());
+        jdbcTemplate.update("DELETE FROM course_enrollment_counts WHERE course_id = ?", biology.getId());
+
+        assertThat(counterService.reconcile()).isEqualTo(2);
+        assertCounts(1, 0);
+        assertThat(counterService.reconcile()).isZero();
+    }
+
+    private void assertCounts(long algebraCount, long biologyCount) {
+        assertThat(counterService.getEnrollmentCount(algebra.getId())).isEqualTo(algebraCount);
+        assertThat(counterService.getEnrollmentCount(biology.getId())).isEqualTo(biologyCount);
+    }
+}
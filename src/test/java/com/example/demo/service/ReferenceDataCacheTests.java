@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that department and course reads are served from the second-level
+ * and query caches, and that writes through the services are visible immediately.
+ */
+@SpringBootTest
+class ReferenceDataCacheTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedListsRunNoStatements() {
+        departmentService.saveDepartment(new Department("Physics"));
+        courseService.saveCourse(new Course("Mechanics"));
+        departmentService.getAllDepartments();
+        courseService.getAllCourses();
+
+        statistics.clear();
+        assertThat(departmentService.getAllDepartments()).extracting(Department::getName).containsExactly("Physics");
+        assertThat(courseService.getAllCourses()).extracting(Course::getTitle).containsExactly("Mechanics");
+        assertThat(departmentRepository.findByName("Physics")).isPresent();
+        assertThat(departmentRepository.findByName("Physics")).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void writesThroughServicesAreVisibleToCachedReads() {
+        Department department = departmentService.saveDepartment(new Department("Physics"));
+        Course course = courseService.saveCourse(new Course("Mechanics"));
+        departmentService.getAllDepartments();
+        courseService.getAllCourses();
+
+        departmentService.updateDepartment(department.getId(), new Department("Astronomy"));
+        Course added = courseService.saveCourse(new Course("Optics"));
+        courseService.updateCourse(course.getId(), new Course("Dynamics"));
+
+        assertThat(departmentService.getAllDepartments()).extracting(Department::getName).containsExactly("Astronomy");
+        assertThat(departmentService.getDepartmentById(department.getId()).getName()).isEqualTo("Astronomy");
+        assertThat(departmentRepository.findByName("Physics")).isEmpty();
+        assertThat(courseService.getAllCourses()).extracting(Course::getTitle)
+                .containsExactlyInAnyOrder("Dynamics", "Optics");
+
+        courseService.deleteCourse(added.getId());
+        assertThat(courseService.getAllCourses()).extracting(Course::getTitle).containsExactly("Dynamics");
+        assertThat(courseRepository.findByTitle("Optics")).isEmpty();
+    }
+
+    @Test
+    void saveStudentTakesCoursesFromCache() {
+        Department department = departmentService.saveDepartment(new Department("Physics"));
+        List<Course> courses = courseRepository.saveAll(List.of(new Course("Mechanics"), new Course("Optics")));
+        Set<Long> courseIds = Set.of(courses.get(0).getId(), courses.get(1).getId());
+
+        statistics.clear();
+        Student student = studentService.saveStudent(
+                new Student("Ada", "ada@example.com"), department.getId(), courseIds, null);
+
+        assertThat(student.getCourses()).hasSize(2);
+        assertThat(statistics.getEntityStatistics(Course.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+}
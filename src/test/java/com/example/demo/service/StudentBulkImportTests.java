@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.dto.BulkImportResult;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.CourseEnrollmentCounterRepository;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+
+/**
+ * Verifies the JDBC bulk import end to end: the row report, the rows written,
+ * enrollment counters, and ids that do not collide with later inserts.
+ */
+@SpringBootTest
+class StudentBulkImportTests {
+
+    @Autowired
+    private StudentBulkImportService studentBulkImportService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CourseEnrollmentCounterService counterService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseEnrollmentCounterRepository counterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Course algebra;
+    private Course biology;
+
+    @BeforeEach
+    void setUp() {
+        counterService.reconcile();
+        departmentService.saveDepartment(new Department("Science"));
+        algebra = courseService.saveCourse(new Course("Algebra"));
+        biology = courseService.saveCourse(new Course("Biology"));
+        studentService.saveStudent(new Student("Eve", "Eve@Example.com"), null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        counterRepository.deleteAll();
+    }
+
+    @Test
+    void csvImportReportsBadRowsAndWritesTheRest() throws IOException {
+        String csv = "name,email,address,phone,department,courses\n"
+                + "Ada,ada@example.com,1 Main St,555,Science,Algebra;Biology\n"
+                + "\"Bob,bob@example.com,,,,\n"
+                + "Ada Again,ADA@example.com,,,,\n"
+                + "Cid,cid@example.com,,,science,Chemistry\n"
+                + "Eve Again,eve@example.com,,,,\n"
+                + "Dan,dan@example.com,,,," + algebra.getId() + "\n";
+
+        BulkImportResult result = importFile(csv, StudentFileFormat.CSV);
+
+        assertThat(result.getProcessed()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(BulkImportResult.RowError::getRow, BulkImportResult.RowError::getMessage)
+                .containsExactly(
+                        tuple(3L, "Malformed row: Unterminated quoted field"),
+                        tuple(4L, "Duplicate email in import"),
+                        tuple(5L, "Course not found: Chemistry"),
+                        tuple(6L, "Email already exists"));
+        assertThat(emails()).containsExactlyInAnyOrder("Eve@Example.com", "ada@example.com", "dan@example.com");
+        Student ada = studentRepository.findByEmail("ada@example.com").orElseThrow();
+        assertThat(studentService.getStudentView(ada.getId()).address()).isEqualTo("1 Main St");
+        assertCounts(2, 1);
+        assertNextSaveGetsFreshId();
+    }
+
+    @Test
+    void ndjsonImportReportsBadRowsAndWritesTheRest() throws IOException {
+        String ndjson = "{\"name\":\"Ada\",\"email\":\"ada@example.com\",\"courses\":[\"Algebra\",\"Biology\"]}\n"
+                + "{\"name\":\"Bob\",\"email\":\n"
+                + "null\n"
+                + "{\"name\":\"Ada Again\",\"email\":\"Ada@Example.com\"}\n"
+                + "{\"name\":\"Cid\",\"email\":\"cid@example.com\",\"courses\":[\"Chemistry\"]}\n"
+                + "{\"name\":\"Eve Again\",\"email\":\"EVE@example.com\"}\n"
+                + "{\"name\":\"Dan\",\"email\":\"dan@example.com\",\"department\":\"Science\",\"courses\":[\"biology\"]}\n";
+
+        BulkImportResult result = importFile(ndjson, StudentFileFormat.NDJSON);
+
+        assertThat(result.getProcessed()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkImportResult.RowError::getRow)
+                .containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(result.getErrors()).extracting(BulkImportResult.RowError::getMessage)
+                .satisfies(messages -> assertThat(messages.get(0)).startsWith("Malformed row:"))
+                .endsWith("Malformed row: not an object",
+                        "Duplicate email in import", "Course not found: Chemistry", "Email already exists");
+        assertThat(emails()).containsExactlyInAnyOrder("Eve@Example.com", "ada@example.com", "dan@example.com");
+        assertCounts(1, 2);
+        assertNextSaveGetsFreshId();
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws IOException {
+        // A row only the database rejects fails the whole JDBC batch
+        jdbcTemplate.execute("ALTER TABLE students ADD CONSTRAINT no_mallory CHECK (name <> 'Mallory')");
+        try {
+            String csv = "name,email,courses\n"
+                    + "Ada,ada@example.com,Algebra\n"
+                    + "Mallory,mallory@example.com,Algebra\n"
+                    + "Dan,dan@example.com,Algebra;Biology\n";
+
+            BulkImportResult result = importFile(csv, StudentFileFormat.CSV);
+
+            assertThat(result.getImported()).isEqualTo(2);
+            assertThat(result.getErrors()).singleElement().satisfies(error -> {
+                assertThat(error.getRow()).isEqualTo(3);
+                assertThat(error.getMessage()).startsWith("Could not insert row:");
+            });
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE students DROP CONSTRAINT no_mallory");
+        }
+        assertThat(emails()).containsExactlyInAnyOrder("Eve@Example.com", "ada@example.com", "dan@example.com");
+        assertCounts(2, 1);
+        assertNextSaveGetsFreshId();
+    }
+
+    private BulkImportResult importFile(String content, StudentFileFormat format) throws IOException {
+        return studentBulkImportService.importStudents(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    private List<String> emails() {
+        return jdbcTemplate.queryForList("SELECT email FROM students", String.class);
+    }
+
+    // Imported ids come from the same allocator as entity inserts
+    private void assertNextSaveGetsFreshId() {
+        List<Long> importedIds = jdbcTemplate.queryForList("SELECT id FROM students", Long.class);
+        Student saved = studentService.saveStudent(new Student("Zoe", "zoe@example.com"),
+                null, Set.of(biology.getId()), null);
+        assertThat(importedIds).doesNotContain(saved.getId());
+        assertThat(studentRepository.count()).isEqualTo(importedIds.size() + 1);
+    }
+
+    private void assertCounts(long algebraCount, long biologyCount) {
+        assertThat(counterService.getEnrollmentCount(algebra.getId())).isEqualTo(algebraCount);
+        assertThat(counterService.getEnrollmentCount(biology.getId())).isEqualTo(biologyCount);
+    }
+}
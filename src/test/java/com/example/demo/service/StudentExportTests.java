@@ -0,0 +1,191 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.dto.BulkImportResult;
+import com.example.demo.dto.StudentView;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.entity.Student;
+import com.example.demo.entity.StudentProfile;
+import com.example.demo.repository.CourseEnrollmentCounterRepository;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Verifies that the export streams every student across persistence-context
+ * clears, resumes after an id, and loads back through the bulk import.
+ */
+@SpringBootTest
+class StudentExportTests {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private StudentExportService studentExportService;
+
+    @Autowired
+    private StudentBulkImportService studentBulkImportService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CourseEnrollmentCounterService counterService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseEnrollmentCounterRepository counterRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int defaultChunkSize;
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        // Fewer students per chunk than students, so the export clears the persistence context mid-stream
+        StudentExportService target = AopTestUtils.getTargetObject(studentExportService);
+        defaultChunkSize = (int) ReflectionTestUtils.getField(target, "chunkSize");
+        ReflectionTestUtils.setField(target, "chunkSize", CHUNK_SIZE);
+
+        counterService.reconcile();
+        Department science = departmentService.saveDepartment(new Department("Science"));
+        Course algebra = courseService.saveCourse(new Course("Algebra"));
+        Course biology = courseService.saveCourse(new Course("Biology, Advanced"));
+
+        studentIds = List.of(
+                studentService.saveStudent(new Student("Ada \"The Countess\" King", "ada@example.com"),
+                        science.getId(), Set.of(algebra.getId(), biology.getId()),
+                        new StudentProfile("12 St James's Square, London", "555-0100")).getId(),
+                studentService.saveStudent(new Student("Bob", "bob@example.com"),
+                        null, Set.of(biology.getId()), null).getId(),
+                studentService.saveStudent(new Student("Cid", "cid@example.com"),
+                        science.getId(), Set.of(), null).getId(),
+                studentService.saveStudent(new Student("Dan", "dan@example.com"),
+                        null, Set.of(algebra.getId()), new StudentProfile(null, "555-0101")).getId(),
+                studentService.saveStudent(new Student("Eve", "eve@example.com"),
+                        science.getId(), Set.of(algebra.getId()), null).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        StudentExportService target = AopTestUtils.getTargetObject(studentExportService);
+        ReflectionTestUtils.setField(target, "chunkSize", defaultChunkSize);
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+        counterRepository.deleteAll();
+    }
+
+    @Test
+    void ndjsonExportWritesEveryStudentInIdOrder() throws IOException {
+        List<String> lines = export(0L, StudentFileFormat.NDJSON);
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines).extracting(line -> ((Number) parse(line).get("id")).longValue())
+                .containsExactlyElementsOf(studentIds);
+        assertThat(parse(lines.get(0)))
+                .containsEntry("name", "Ada \"The Countess\" King")
+                .containsEntry("address", "12 St James's Square, London")
+                .containsEntry("department", "Science")
+                .containsEntry("courses", List.of("Algebra", "Biology, Advanced"));
+
+        // Resume after the second student
+        List<String> rest = export(studentIds.get(1), StudentFileFormat.NDJSON);
+        assertThat(rest).extracting(line -> ((Number) parse(line).get("id")).longValue())
+                .containsExactlyElementsOf(studentIds.subList(2, 5));
+    }
+
+    @Test
+    void csvExportQuotesFieldsAndResumes() throws IOException {
+        List<String> lines = export(0L, StudentFileFormat.CSV);
+
+        assertThat(lines).hasSize(6);
+        assertThat(lines.get(0)).isEqualTo("id,name,email,address,phone,department,courses");
+        assertThat(lines.get(1)).isEqualTo(studentIds.get(0) + ",\"Ada \"\"The Countess\"\" King\",ada@example.com,"
+                + "\"12 St James's Square, London\",555-0100,Science,\"Algebra;Biology, Advanced\"");
+        assertThat(lines.get(2)).isEqualTo(studentIds.get(1) + ",Bob,bob@example.com,,,,\"Biology, Advanced\"");
+
+        List<String> rest = export(studentIds.get(3), StudentFileFormat.CSV);
+        assertThat(rest).hasSize(2);
+        assertThat(rest.get(1)).startsWith(studentIds.get(4) + ",Eve,");
+    }
+
+    @Test
+    void exportLoadsBackThroughTheImport() throws IOException {
+        for (StudentFileFormat format : StudentFileFormat.values()) {
+            List<StudentView> before = views();
+            byte[] exported = exportBytes(format);
+            studentIds.forEach(studentService::deleteStudent);
+
+            BulkImportResult result = studentBulkImportService.importStudents(new ByteArrayInputStream(exported), format);
+
+            assertThat(result.getErrors()).as(format.name()).isEmpty();
+            assertThat(result.getImported()).isEqualTo(5);
+            // Ids are new; everything else survives the round trip
+            assertThat(views()).usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
+                    .as(format.name())
+                    .containsExactlyElementsOf(before);
+            studentIds = studentRepository.findAll().stream().map(Student::getId).sorted().toList();
+        }
+    }
+
+    private List<StudentView> views() {
+        return studentRepository.findAll().stream()
+                .map(Student::getId)
+                .sorted()
+                .map(studentService::getStudentView)
+                .toList();
+    }
+
+    private List<String> export(long afterId, StudentFileFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        studentExportService.exportStudents(afterId, format, output);
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private byte[] exportBytes(StudentFileFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThat(studentExportService.exportStudents(0L, format, output)).isEqualTo(5);
+        return output.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(String line) throws IOException {
+        return objectMapper.readValue(line, Map.class);
+    }
+}
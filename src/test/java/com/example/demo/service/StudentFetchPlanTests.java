@@ -0,0 +1,151 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.StudentField;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Department;
+import com.example.demo.entity.Student;
+import com.example.demo.entity.StudentProfile;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.DepartmentRepository;
+import com.example.demo.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that the student read paths run a bounded number of SQL statements
+ * regardless of how many rows they return.
+ */
+@SpringBootTest
+class StudentFetchPlanTests {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private List<Department> departments;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        departments = departmentRepository.saveAll(List.of(
+                new Department("Physics"), new Department("History"), new Department("Art")));
+        courses = courseRepository.saveAll(List.of(
+                new Course("Mechanics"), new Course("Optics"), new Course("Rome"), new Course("Painting")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void listPageRunsConstantStatementCount() {
+        seedStudents(5);
+        long small = countStatements(this::renderStudentList);
+
+        seedStudents(40);
+        long large = countStatements(this::renderStudentList);
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void restListRunsConstantStatementCount() {
+        seedStudents(5);
+        long small = countStatements(() -> studentService.getStudentPage(null, 100, StudentField.parse(null)));
+
+        seedStudents(40);
+        long large = countStatements(() -> studentService.getStudentPage(null, 100, StudentField.parse(null)));
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void getStudentByIdLoadsGraphInOneStatement() {
+        Long id = seedStudents(1).get(0);
+
+        long statements = countStatements(() -> {
+            Student student = studentService.getStudentById(id, StudentFetchPlan.FULL);
+            try {
+                objectMapper.writeValueAsString(student);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    // Mirrors what students.html reads for each row
+    private void renderStudentList() {
+        for (Student student : studentService.getAllStudents(StudentFetchPlan.FULL)) {
+            if (student.getDepartment() != null) {
+                student.getDepartment().getName();
+            }
+            student.getCourses().forEach(Course::getTitle);
+            if (student.getProfile() != null) {
+                student.getProfile().getAddress();
+            }
+        }
+    }
+
+    // Runs the action inside one transaction, like open-in-view does for a request
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> action.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> seedStudents(int count) {
+        List<Long> ids = new ArrayList<>();
+        long offset = studentRepository.count();
+        for (int i = 0; i < count; i++) {
+            long n = offset + i;
+            Student student = new Student("Student " + n, "student" + n + "@example.com");
+            student.setProfile(new StudentProfile("Street " + n, "555-" + n));
+            student.setDepartment(departments.get((int) (n % departments.size())));
+            student.getCourses().add(courses.get((int) (n % courses.size())));
+            student.getCourses().add(courses.get((int) ((n + 1) % courses.size())));
+            ids.add(studentRepository.save(student).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.demo.dto.StudentApiRequestDto;
+import com.example.demo.dto.WriteTicket;
+import com.example.demo.entity.Course;
+import com.example.demo.entity.Student;
+import com.example.demo.repository.CourseEnrollmentCounterRepository;
+import com.example.demo.repository.CourseRepository;
+import com.example.demo.repository.StudentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifies that queued student updates are merged per student, that a
+ * failing update does not take the rest of its batch down with it, and that
+ * nothing queued is lost on shutdown.
+ */
+@SpringBootTest
+class StudentWriteBehindTests {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseEnrollmentCounterRepository counterRepository;
+
+    private StudentWriteBehindService writeBehindService;
+    private Course algebra;
+
+    @BeforeEach
+    void setUp() {
+        // Write-behind is off in the shared context; run an enabled instance next to it
+        writeBehindService = new StudentWriteBehindService(studentService, transactionManager,
+                new SimpleMeterRegistry(), true, 2, Duration.ofMillis(300), 100, 1000,
+                Duration.ofMinutes(1), Duration.ofSeconds(10));
+        writeBehindService.start();
+        algebra = courseRepository.save(new Course("Algebra"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehindService.destroy();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        counterRepository.deleteAll();
+    }
+
+    @Test
+    void updatesToTheSameStudentAreMergedIntoOneWrite() {
+        Student ada = studentService.saveStudent(new Student("Ada", "ada@example.com"), null, Set.of(), null);
+
+        WriteTicket first = writeBehindService.submit(ada.getId(), request("Ada B", "ada@example.com"));
+        WriteTicket second = writeBehindService.submit(ada.getId(), request("Ada C", "ada@example.com"));
+
+        assertThat(writeBehindService.getTicket(first.getTicketId(), WAIT).getStatus())
+                .isEqualTo(WriteTicket.Status.APPLIED);
+        assertThat(writeBehindService.getTicket(second.getTicketId(), WAIT).getStatus())
+                .isEqualTo(WriteTicket.Status.APPLIED);
+
+        Student updated = studentRepository.findById(ada.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Ada C");
+        // One UPDATE for both requests
+        assertThat(updated.getVersion()).isEqualTo(ada.getVersion() + 1);
+    }
+
+    @Test
+    void failedUpdateOnlyFailsItsOwnTickets() {
+        Student ada = studentService.saveStudent(new Student("Ada", "ada@example.com"), null, Set.of(), null);
+        Student bob = studentService.saveStudent(new Student("Bob", "bob@example.com"), null, Set.of(), null);
+
+        StudentApiRequestDto unknownCourse = request("Ada", "ada@example.com");
+        unknownCourse.setCourseIds(Set.of(algebra.getId() + 1000));
+        StudentApiRequestDto enroll = request("Bob", "bob@example.com");
+        enroll.setCourseIds(Set.of(algebra.getId()));
+
+        WriteTicket failing = writeBehindService.submit(ada.getId(), unknownCourse);
+        WriteTicket succeeding = writeBehindService.submit(bob.getId(), enroll);
+
+        WriteTicket failed = writeBehindService.getTicket(failing.getTicketId(), WAIT);
+        assertThat(failed.getStatus()).isEqualTo(WriteTicket.Status.FAILED);
+        assertThat(failed.getError()).contains("Course not found");
+        assertThat(writeBehindService.getTicket(succeeding.getTicketId(), WAIT).getStatus())
+                .isEqualTo(WriteTicket.Status.APPLIED);
+
+        assertThat(studentRepository.findIdsByCourseId(algebra.getId())).containsExactly(bob.getId());
+    }
+
+    @Test
+    void failureReportsNoDatabaseDetails() {
+        Student ada = studentService.saveStudent(new Student("Ada", "ada@example.com"), null, Set.of(), null);
+        studentService.saveStudent(new Student("Bob", "bob@example.com"), null, Set.of(), null);
+
+        WriteTicket ticket = writeBehindService.submit(ada.getId(), request("Ada", "bob@example.com"));
+
+        WriteTicket failed = writeBehindService.getTicket(ticket.getTicketId(), WAIT);
+        assertThat(failed.getStatus()).isEqualTo(WriteTicket.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("Email already exists");
+    }
+
+    @Test
+    void pendingUpdatesAreWrittenOnShutdown() throws InterruptedException {
+        Student ada = studentService.saveStudent(new Student("Ada", "ada@example.com"), null, Set.of(), null);
+        StudentWriteBehindService slow = new StudentWriteBehindService(studentService, transactionManager,
+                new SimpleMeterRegistry(), true, 1, Duration.ofHours(1), 100, 1000,
+                Duration.ofMinutes(1), Duration.ofSeconds(10));
+        slow.start();
+
+        WriteTicket ticket = slow.submit(ada.getId(), request("Ada B", "ada@example.com"));
+        slow.destroy();
+
+        assertThat(slow.getTicket(ticket.getTicketId(), Duration.ZERO).getStatus())
+                .isEqualTo(WriteTicket.Status.APPLIED);
+        assertThat(studentRepository.findById(ada.getId()).orElseThrow().getName()).isEqualTo("Ada B");
+    }
+
+    private static StudentApiRequestDto request(String name, String email) {
+        StudentApiRequestDto request = new StudentApiRequestDto();
+        request.setName(name);
+        request.setEmail(email);
+        return request;
+    }
+}